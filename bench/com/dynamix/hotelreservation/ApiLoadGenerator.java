@@ -0,0 +1,217 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load against {@link HotelApiServer}: each virtual-thread worker sends
+ * its next request as soon as the previous answer arrives, over a shared HTTP/1.1
+ * client that keeps connections alive. Reports throughput and latency percentiles
+ * for the measured period after a warmup.
+ *
+ * Without --url it boots a server on a free port over a synthetic data set, so a run
+ * measures the API end to end on this machine.
+ *
+ * Usage: ApiLoadGenerator [--url http://host:port] [--size n] [--concurrency n]
+ *                         [--warmup s] [--duration s] [--mix availability|book|lookup|mixed]
+ */
+public class ApiLoadGenerator {
+    private static final long SEED = 42;
+    private static final int MAX_LATENCY_MICROS = 10_000_000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final String mix;
+    private final int roomCount;
+    private final int customerCount;
+    private final LocalDate firstFreeDay;
+    private final AtomicInteger nextBookingSlot = new AtomicInteger();
+
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final int[] latencyHistogram = new int[MAX_LATENCY_MICROS + 1];
+
+    private ApiLoadGenerator(String baseUrl, String mix, int roomCount, int customerCount, LocalDate firstFreeDay) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.roomCount = roomCount;
+        this.customerCount = customerCount;
+        this.firstFreeDay = firstFreeDay;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int size = 100_000;
+        int concurrency = 64;
+        int warmup = 5;
+        int duration = 20;
+        String mix = "mixed";
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url" -> url = args[++i];
+                case "--size" -> size = Integer.parseInt(args[++i].replace("_", ""));
+                case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--duration" -> duration = Integer.parseInt(args[++i]);
+                case "--mix" -> mix = args[++i];
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        SyntheticData data = new SyntheticData(size, SEED);
+        File dir = null;
+        HotelReservationModel model = null;
+        HotelApiServer server = null;
+        if (url == null) {
+            dir = Files.createTempDirectory("hotel-api-").toFile();
+            data.writeTo(dir);
+            model = new HotelReservationModel(dir);
+            server = new HotelApiServer(model, 0);
+            server.start();
+            url = "http://localhost:" + server.port();
+            System.out.printf("# Serving %,d reservations over %,d rooms at %s%n", size, data.roomCount, url);
+        }
+
+        try {
+            // Against an outside server, book far enough ahead to miss most existing stays.
+            LocalDate firstFreeDay = dir != null ? LocalDate.ofEpochDay(data.lastBookedDay + 2)
+                    : LocalDate.now().plusDays(400);
+            new ApiLoadGenerator(url, mix, data.roomCount, data.customerCount, firstFreeDay)
+                    .run(concurrency, warmup, duration);
+        } finally {
+            if (server != null) server.stop();
+            if (model != null) model.close();
+            if (dir != null) deleteTree(dir);
+        }
+    }
+
+    private void run(int concurrency, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        System.out.printf("# %s mix, %d concurrent requests, %d s warmup, %d s measured%n",
+                mix, concurrency, warmupSeconds, durationSeconds);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(this::work);
+            }
+            Thread.sleep(warmupSeconds * 1000L);
+            measuring = true;
+            long start = System.nanoTime();
+            Thread.sleep(durationSeconds * 1000L);
+            measuring = false;
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            running = false;
+            report(elapsed);
+        }
+    }
+
+    private void work() {
+        while (running) {
+            HttpRequest request = nextRequest();
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                // A 409 is a legitimate answer under contention, e.g. two workers booking one room.
+                ok = status < 300 || status == 409;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (measuring) record((System.nanoTime() - start) / 1000, ok);
+        }
+    }
+
+    private HttpRequest nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String kind = mix;
+        if (kind.equals("mixed")) {
+            int pick = random.nextInt(100);
+            kind = pick < 70 ? "availability" : pick < 90 ? "lookup" : "book";
+        }
+        switch (kind) {
+            case "book" -> {
+                // Walks forward through free dates so bookings rarely collide.
+                int slot = nextBookingSlot.getAndIncrement();
+                LocalDate checkIn = firstFreeDay.plusDays(2L * (slot / roomCount));
+                String body = Json.toJson(Map.of(
+                        "customerId", SyntheticData.customerId(1 + random.nextInt(customerCount)),
+                        "roomId", SyntheticData.roomId(1 + slot % roomCount),
+                        "checkIn", checkIn.toString(),
+                        "checkOut", checkIn.plusDays(1).toString()));
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservations"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+            }
+            case "lookup" -> {
+                String customerId = SyntheticData.customerId(1 + random.nextInt(customerCount));
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/customers/" + customerId)).GET().build();
+            }
+            default -> {
+                LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(300));
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/rooms/available?checkIn=" + checkIn
+                        + "&checkOut=" + checkIn.plusDays(1 + random.nextInt(4)))).GET().build();
+            }
+        }
+    }
+
+    private void record(long micros, boolean ok) {
+        requests.increment();
+        if (!ok) failures.increment();
+        int bucket = (int) Math.min(micros, MAX_LATENCY_MICROS);
+        synchronized (latencyHistogram) {
+            latencyHistogram[bucket]++;
+        }
+    }
+
+    private void report(double seconds) {
+        long total = requests.sum();
+        System.out.printf("Requests:   %,d (%,d failed)%n", total, failures.sum());
+        System.out.printf("Throughput: %,.0f req/s%n", total / seconds);
+        synchronized (latencyHistogram) {
+            System.out.printf("Latency:    p50 %s  p90 %s  p99 %s  max %s%n", percentile(total, 0.50),
+                    percentile(total, 0.90), percentile(total, 0.99), percentile(total, 1.0));
+        }
+    }
+
+    private String percentile(long total, double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(total * fraction));
+        long seen = 0;
+        for (int micros = 0; micros < latencyHistogram.length; micros++) {
+            seen += latencyHistogram[micros];
+            if (seen >= rank) return String.format("%.2f ms", micros / 1000.0);
+        }
+        return "-";
+    }
+
+    private static void deleteTree(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteTree(child);
+            }
+        }
+        file.delete();
+    }
+}
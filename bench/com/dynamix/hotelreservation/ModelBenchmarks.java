@@ -0,0 +1,211 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Average-time benchmarks for the model's hot paths against synthetic data sets.
+ * Each benchmark runs timed iterations of a fixed duration after a few warmup
+ * iterations, in the same JVM, and reports microseconds per operation.
+ *
+ * Usage: ModelBenchmarks [--sizes 1000,10000,...] [--warmup n] [--iterations n]
+ *                        [--time ms] [--only name,...] [--keep]
+ */
+public class ModelBenchmarks {
+    private static final long SEED = 42;
+    private static final int CANCEL_POOL = 5000;
+
+    private final int warmup;
+    private final int iterations;
+    private final long iterationNanos;
+    private final Set<String> only;
+
+    private SyntheticData data;
+    private HotelReservationModel model;
+    private Random random;
+    private int nextBookingSlot;
+    private final Deque<String> cancellable = new ArrayDeque<>();
+    private final List<String> report = new ArrayList<>();
+
+    /** Keeps results reachable so the JIT can't drop the calls that produce them. */
+    static volatile long sink;
+
+    private ModelBenchmarks(int warmup, int iterations, long iterationMillis, Set<String> only) {
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.iterationNanos = iterationMillis * 1_000_000;
+        this.only = only;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = {1_000, 10_000, 100_000, 1_000_000};
+        int warmup = 3;
+        int iterations = 5;
+        long time = 1000;
+        Set<String> only = new HashSet<>();
+        boolean keep = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sizes" -> sizes = Arrays.stream(args[++i].split(","))
+                        .mapToInt(s -> Integer.parseInt(s.trim().replace("_", ""))).toArray();
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                case "--time" -> time = Long.parseLong(args[++i]);
+                case "--only" -> only.addAll(Arrays.asList(args[++i].split(",")));
+                case "--keep" -> keep = true;
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        ModelBenchmarks benchmarks = new ModelBenchmarks(warmup, iterations, time, only);
+        for (int size : sizes) {
+            Path dir = Files.createTempDirectory("hotel-bench-" + size + "-");
+            try {
+                benchmarks.runAll(size, dir.toFile());
+            } finally {
+                if (!keep) deleteTree(dir.toFile());
+            }
+        }
+        System.out.println();
+        System.out.printf("%-28s %10s %5s %14s %12s %8s%n", "Benchmark", "Size", "Cnt", "Score", "Error", "Units");
+        benchmarks.report.forEach(System.out::println);
+    }
+
+    private void runAll(int size, File dir) throws IOException {
+        System.out.printf("%n# Data set: %,d reservations in %s%n", size, dir);
+        data = new SyntheticData(size, SEED);
+        random = new Random(SEED);
+        nextBookingSlot = 0;
+        cancellable.clear();
+
+        long start = System.nanoTime();
+        data.writeTo(dir);
+        System.out.printf("# Generated %,d rooms, %,d customers in %d ms%n",
+                data.roomCount, data.customerCount, (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        model = new HotelReservationModel(dir);
+        System.out.printf("# Opened model in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+        try {
+            run(size, "bookReservation", null, this::bookNext);
+            run(size, "cancelReservation", this::fillCancelPool, this::cancelNext);
+            run(size, "getAvailableRoomsForDates", null, this::availableRooms);
+            run(size, "getReservationsByCustomer", null, this::customerReservations);
+            run(size, "getBookingStats", null, this::bookingStats);
+            run(size, "saveAll", null, this::saveAll);
+            run(size, "loadAllData", null, this::loadAllData);
+        } finally {
+            model.close();
+        }
+    }
+
+    // ==================== BENCHMARKS ====================
+
+    /** Books one night per room in the free range past the generated stays, round robin. */
+    private boolean bookNext() {
+        int slot = nextBookingSlot++;
+        String roomId = SyntheticData.roomId(1 + slot % data.roomCount);
+        // Two days per slot keeps consecutive one-night stays apart under the inclusive rule.
+        LocalDate checkIn = LocalDate.ofEpochDay(data.lastBookedDay + 2 + 2L * (slot / data.roomCount));
+        String customerId = SyntheticData.customerId(1 + random.nextInt(data.customerCount));
+        Reservation reservation = model.bookReservation(customerId, roomId, checkIn, checkIn.plusDays(1));
+        if (reservation == null) throw new IllegalStateException("Booking rejected for " + roomId + " " + checkIn);
+        cancellable.add(reservation.getReservationId());
+        return true;
+    }
+
+    private void fillCancelPool() {
+        while (cancellable.size() < CANCEL_POOL) {
+            bookNext();
+        }
+    }
+
+    private boolean cancelNext() {
+        String reservationId = cancellable.poll();
+        if (reservationId == null) return false;
+        model.cancelReservation(reservationId);
+        return true;
+    }
+
+    private boolean availableRooms() {
+        int span = Math.max(1, data.lastBookedDay - (int) data.today.toEpochDay());
+        LocalDate checkIn = data.today.plusDays(random.nextInt(span));
+        sink += model.getAvailableRoomsForDates(checkIn, checkIn.plusDays(1 + random.nextInt(7))).size();
+        return true;
+    }
+
+    private boolean customerReservations() {
+        String customerId = SyntheticData.customerId(1 + random.nextInt(data.customerCount));
+        sink += model.getReservationsByCustomer(customerId).size();
+        return true;
+    }
+
+    private boolean bookingStats() {
+        sink += model.getBookingStats().size();
+        return true;
+    }
+
+    private boolean saveAll() {
+        model.saveAll();
+        return true;
+    }
+
+    private boolean loadAllData() {
+        model.loadAllData();
+        sink += model.getAllRooms().size();
+        return true;
+    }
+
+    // ==================== HARNESS ====================
+
+    private void run(int size, String name, Runnable setup, BooleanSupplier operation) {
+        if (!only.isEmpty() && !only.contains(name)) return;
+        System.out.printf("# %s%n", name);
+        double[] scores = new double[iterations];
+        for (int i = 0; i < warmup + iterations; i++) {
+            if (setup != null) setup.run();
+            double score = iteration(operation);
+            boolean measured = i >= warmup;
+            if (measured) scores[i - warmup] = score;
+            System.out.printf("%s %d: %.3f us/op%n", measured ? "Iteration" : "Warmup   ",
+                    measured ? i - warmup + 1 : i + 1, score);
+        }
+        double mean = Arrays.stream(scores).average().orElse(Double.NaN);
+        double variance = Arrays.stream(scores).map(s -> (s - mean) * (s - mean)).sum()
+                / Math.max(1, scores.length - 1);
+        report.add(String.format("%-28s %10d %5d %14.3f %12.3f %8s",
+                name, size, iterations, mean, Math.sqrt(variance), "us/op"));
+    }
+
+    /** Runs the operation until the iteration time is used up, always at least once. */
+    private double iteration(BooleanSupplier operation) {
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            if (!operation.getAsBoolean()) break;
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        elapsed = System.nanoTime() - start;
+        return ops == 0 ? Double.NaN : elapsed / 1000.0 / ops;
+    }
+
+    private static void deleteTree(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) deleteTree(child);
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,121 @@
+package com.dynamix.hotelreservation;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Writes a data directory with a given number of reservations straight into the
+ * binary snapshot format, so large data sets don't have to go through the journal.
+ * Every room gets a run of non-overlapping stays; roughly the last tenth of each
+ * run lies in the future and stays live, the rest goes to the monthly history segments.
+ */
+final class SyntheticData {
+    private static final String[] ROOM_TYPES = {"Single", "Double", "Suite", "Deluxe"};
+    private static final double[] PRICES = {1500, 2500, 4000, 5500};
+    private static final double CANCELLED_SHARE = 0.05;
+    private static final double LIVE_SHARE = 0.10;
+    private static final int MAX_NIGHTS = 4;
+
+    final int reservationCount;
+    final int roomCount;
+    final int customerCount;
+    final LocalDate today = LocalDate.now();
+    private final long seed;
+
+    /** Day after which every room is free; benchmarks book beyond it. */
+    int lastBookedDay;
+
+    SyntheticData(int reservationCount, long seed) {
+        this.reservationCount = reservationCount;
+        this.roomCount = Math.max(50, Math.min(5000, reservationCount / 200));
+        this.customerCount = Math.max(100, reservationCount / 10);
+        this.seed = seed;
+    }
+
+    static String roomId(int n) {
+        return Room.ID_PREFIX + n;
+    }
+
+    static String customerId(int n) {
+        return Customer.ID_PREFIX + n;
+    }
+
+    void writeTo(File dir) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("Cannot create " + dir);
+        Random random = new Random(seed);
+
+        List<Room> rooms = new ArrayList<>(roomCount);
+        for (int i = 1; i <= roomCount; i++) {
+            int type = (i - 1) % ROOM_TYPES.length;
+            rooms.add(new Room(roomId(i), ROOM_TYPES[type], PRICES[type], type + 1));
+        }
+        RecordCodec.writeFileAtomically(new File(dir, HotelReservationModel.ROOMS_FILE),
+                out -> RecordCodec.writeRooms(out, rooms, List.of()));
+
+        RecordCodec.writeFileAtomically(new File(dir, HotelReservationModel.CUSTOMERS_FILE), out -> {
+            RecordCodec.writeHeader(out, RecordCodec.CUSTOMERS, customerCount);
+            for (int i = 1; i <= customerCount; i++) {
+                RecordCodec.writeCustomer(out, new Customer(customerId(i), "Guest " + i,
+                        "guest" + i + "@example.com", "98" + (10000000 + i), "Street " + i));
+            }
+        });
+
+        // Average stay plus the mandatory gap day under the inclusive overlap rule.
+        int spacing = (MAX_NIGHTS + 1) / 2 + 2;
+        int perRoom = (reservationCount + roomCount - 1) / roomCount;
+        int firstDay = (int) today.toEpochDay() - (int) (perRoom * (1 - LIVE_SHARE) * spacing);
+
+        int id = 0;
+        int liveCount = 0;
+        File liveTemp = File.createTempFile("live", ".tmp", dir);
+        NavigableMap<Integer, Integer> historyCounts;
+        try (ReservationHistory.Builder history = new ReservationHistory.Builder(
+                new File(dir, HotelReservationModel.HISTORY_DIR));
+             DataOutputStream live = open(liveTemp)) {
+            int[] nextFree = new int[roomCount];
+            Arrays.fill(nextFree, firstDay);
+            while (id < reservationCount) {
+                for (int room = 0; room < roomCount && id < reservationCount; room++) {
+                    int checkIn = nextFree[room] + random.nextInt(2);
+                    int nights = 1 + random.nextInt(MAX_NIGHTS);
+                    int checkOut = checkIn + nights;
+                    nextFree[room] = checkOut + 1;
+                    lastBookedDay = Math.max(lastBookedDay, checkOut);
+
+                    boolean cancelled = random.nextDouble() < CANCELLED_SHARE;
+                    boolean past = checkOut < today.toEpochDay();
+                    int customer = 1 + random.nextInt(customerCount);
+                    double cost = nights * PRICES[room % PRICES.length];
+                    byte status = (cancelled ? ReservationStatus.CANCELLED : ReservationStatus.CONFIRMED).code();
+                    if (cancelled || past) {
+                        history.add(++id, customer, room + 1, checkIn, checkOut, cost, status);
+                    } else {
+                        RecordCodec.writeReservation(live, ++id, customer, room + 1, checkIn, checkOut, cost, status);
+                        liveCount++;
+                    }
+                }
+            }
+            historyCounts = history.finish();
+        }
+
+        int liveRecords = liveCount;
+        File liveFile = new File(dir, HotelReservationModel.RESERVATIONS_FILE);
+        RecordCodec.writeFileAtomically(liveFile, out -> {
+            RecordCodec.writeHeader(out, RecordCodec.RESERVATIONS, liveRecords);
+            out.writeInt(historyCounts.size());
+            for (Map.Entry<Integer, Integer> entry : historyCounts.entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            try (InputStream in = new BufferedInputStream(new FileInputStream(liveTemp))) {
+                in.transferTo(out);
+            }
+        });
+        liveTemp.delete();
+    }
+
+    private static DataOutputStream open(File file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+    }
+}
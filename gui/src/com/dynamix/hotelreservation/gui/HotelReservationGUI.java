@@ -0,0 +1,1110 @@
+package com.dynamix.hotelreservation.gui;
+
+import com.dynamix.hotelreservation.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@SuppressWarnings("serial")
+public class HotelReservationGUI extends JFrame {
+    private HotelReservationModel model;
+    private JTabbedPane tabbedPane;
+    private JLabel statusLabel;
+    private JProgressBar progressBar;
+    private static final String ADMIN_PASSWORD = "admin123";
+
+    // Model calls can block on disk, so they run here instead of on the EDT.
+    private final ExecutorService modelExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private int runningTasks;
+
+    // Open tables, so that mutations can update them in place instead of reloading.
+    private final List<PagedTableModel> roomTables = new ArrayList<>();
+    private final List<PagedTableModel> customerTables = new ArrayList<>();
+    private final List<PagedTableModel> reservationTables = new ArrayList<>();
+    private OccupancyHeatmap occupancyHeatmap;
+
+    public HotelReservationGUI() {
+        model = new HotelReservationModel();
+        initializeUI();
+        model.addModelListener(this::modelChanged, SwingUtilities::invokeLater);
+    }
+
+    private void initializeUI() {
+        setTitle("Hotel Reservation System - Dynamix Networks");
+        setSize(1400, 800);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                // Let queued bookings and cancellations reach the model before the final save.
+                modelExecutor.shutdown();
+                try {
+                    modelExecutor.awaitTermination(30, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                model.close();
+            }
+        });
+
+        // Status bar first: building the tabs already starts background loads
+        add(createStatusBar(), BorderLayout.SOUTH);
+
+        // Create Tabbed Pane
+        tabbedPane = new JTabbedPane();
+        tabbedPane.addTab("🏨 Customer Portal", createCustomerPanel());
+        tabbedPane.addTab("👨‍💼 Admin Panel", createAdminPanel());
+
+        add(tabbedPane);
+    }
+
+    private JPanel createStatusBar() {
+        JPanel panel = new JPanel(new BorderLayout(10, 0));
+        panel.setBorder(BorderFactory.createEmptyBorder(2, 10, 2, 10));
+
+        statusLabel = new JLabel("Ready");
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+
+        panel.add(statusLabel, BorderLayout.CENTER);
+        panel.add(progressBar, BorderLayout.EAST);
+        return panel;
+    }
+
+    // ==================== CUSTOMER PANEL ====================
+
+    private JPanel createCustomerPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        // Top: Register/Login
+        panel.add(createCustomerHeaderPanel(), BorderLayout.NORTH);
+
+        // Center: Tabbed content
+        JTabbedPane customerTabs = new JTabbedPane();
+        customerTabs.addTab("🏠 View Rooms", createRoomsPanel());
+        customerTabs.addTab("📅 My Reservations", createMyReservationsPanel());
+
+        panel.add(customerTabs, BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    private JPanel createCustomerHeaderPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        panel.setBorder(BorderFactory.createTitledBorder("Customer Section"));
+        panel.setBackground(new Color(240, 248, 255));
+
+        JButton registerBtn = createStyledButton("✍️ Register/Login", new Color(30, 144, 255));
+        JButton bookBtn = createStyledButton("📖 Book Room", new Color(34, 139, 34));
+        JButton searchBtn = createStyledButton("🔍 Search Availability", new Color(255, 140, 0));
+
+        registerBtn.addActionListener(e -> showRegisterDialog());
+        bookBtn.addActionListener(e -> showBookingDialog());
+        searchBtn.addActionListener(e -> showSearchAvailabilityDialog());
+
+        panel.add(registerBtn);
+        panel.add(bookBtn);
+        panel.add(searchBtn);
+
+        return panel;
+    }
+
+    private JPanel createRoomsPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        PagedTableModel tableModel = createRoomsTableModel();
+
+        JTable table = new JTable(tableModel);
+        table.setFont(new Font("Arial", Font.PLAIN, 12));
+        table.setRowHeight(25);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        JButton refreshBtn = createStyledButton("🔄 Refresh", new Color(70, 130, 180));
+        refreshBtn.addActionListener(e -> tableModel.reload());
+        buttonPanel.add(refreshBtn);
+
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    private JPanel createMyReservationsPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        PagedTableModel tableModel = createReservationsTableModel();
+
+        JTable table = new JTable(tableModel);
+        table.setFont(new Font("Arial", Font.PLAIN, 12));
+        table.setRowHeight(25);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        JButton viewBtn = createStyledButton("👁️ View All", new Color(30, 144, 255));
+        JButton cancelBtn = createStyledButton("❌ Cancel Selected", new Color(220, 20, 60));
+        JButton refreshBtn = createStyledButton("🔄 Refresh", new Color(70, 130, 180));
+
+        viewBtn.addActionListener(e -> tableModel.reload());
+        cancelBtn.addActionListener(e -> {
+            int selectedRow = table.getSelectedRow();
+            if (selectedRow != -1) {
+                String resId = (String) tableModel.getValueAt(selectedRow, 0);
+                if (resId != null) {
+                    cancelReservationAction(resId);
+                }
+            }
+        });
+        refreshBtn.addActionListener(e -> tableModel.reload());
+
+        buttonPanel.add(viewBtn);
+        buttonPanel.add(cancelBtn);
+        buttonPanel.add(refreshBtn);
+
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    // ==================== ADMIN PANEL ====================
+
+    private JPanel createAdminPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        // Check if admin is logged in
+        if (!showAdminLogin()) {
+            JLabel label = new JLabel("Access Denied. Admin login failed.", SwingConstants.CENTER);
+            label.setFont(new Font("Arial", Font.BOLD, 16));
+            label.setForeground(new Color(220, 20, 60));
+            panel.add(label);
+            return panel;
+        }
+
+        // Admin header
+        panel.add(createAdminHeaderPanel(), BorderLayout.NORTH);
+
+        // Admin content tabs
+        JTabbedPane adminTabs = new JTabbedPane();
+        adminTabs.addTab("🏠 Room Management", createRoomManagementPanel());
+        adminTabs.addTab("👥 Customer Management", createCustomerManagementPanel());
+        adminTabs.addTab("📅 All Reservations", createAllReservationsPanel());
+        adminTabs.addTab("📊 Reports", createReportsPanel());
+        adminTabs.addTab("🗓️ Occupancy", createOccupancyPanel());
+
+        panel.add(adminTabs, BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    private boolean showAdminLogin() {
+        JPasswordField passwordField = new JPasswordField();
+        int option = JOptionPane.showConfirmDialog(this, passwordField,
+                "Enter Admin Password:", JOptionPane.OK_CANCEL_OPTION);
+
+        if (option == JOptionPane.OK_OPTION) {
+            String password = new String(passwordField.getPassword());
+            return password.equals(ADMIN_PASSWORD);
+        }
+        return false;
+    }
+
+    private JPanel createAdminHeaderPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        panel.setBorder(BorderFactory.createTitledBorder("Admin Control Panel"));
+        panel.setBackground(new Color(255, 228, 225));
+
+        JLabel adminLabel = new JLabel("🔐 Admin Mode Active");
+        adminLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        adminLabel.setForeground(new Color(220, 20, 60));
+
+        JButton importBtn = createStyledButton("📥 Import", new Color(34, 139, 34));
+        JButton exportBtn = createStyledButton("📤 Export", new Color(30, 144, 255));
+        importBtn.addActionListener(e -> showImportDialog());
+        exportBtn.addActionListener(e -> showExportDialog());
+
+        panel.add(adminLabel);
+        panel.add(importBtn);
+        panel.add(exportBtn);
+
+        return panel;
+    }
+
+    private JPanel createRoomManagementPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        PagedTableModel tableModel = createRoomsTableModel();
+
+        JTable table = new JTable(tableModel);
+        table.setFont(new Font("Arial", Font.PLAIN, 12));
+        table.setRowHeight(25);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        JButton addBtn = createStyledButton("➕ Add Room", new Color(34, 139, 34));
+        JButton deleteBtn = createStyledButton("🗑️ Delete Selected", new Color(220, 20, 60));
+        JButton refreshBtn = createStyledButton("🔄 Refresh", new Color(70, 130, 180));
+
+        addBtn.addActionListener(e -> showAddRoomDialog());
+        deleteBtn.addActionListener(e -> {
+            int selectedRow = table.getSelectedRow();
+            String roomId = selectedRow == -1 ? null : (String) tableModel.getValueAt(selectedRow, 0);
+            if (roomId != null) {
+                runInBackground("Deleting room " + roomId, () -> model.removeRoom(roomId),
+                        removed -> JOptionPane.showMessageDialog(this, removed ? "Room deleted successfully!"
+                                : "Room " + roomId + " has stays today or later and can't be deleted."));
+            }
+        });
+        refreshBtn.addActionListener(e -> tableModel.reload());
+
+        buttonPanel.add(addBtn);
+        buttonPanel.add(deleteBtn);
+        buttonPanel.add(refreshBtn);
+
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    private JPanel createCustomerManagementPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        PagedTableModel tableModel = createCustomersTableModel();
+
+        JTable table = new JTable(tableModel);
+        table.setFont(new Font("Arial", Font.PLAIN, 12));
+        table.setRowHeight(25);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        JButton viewBtn = createStyledButton("👁️ View All", new Color(30, 144, 255));
+        JButton refreshBtn = createStyledButton("🔄 Refresh", new Color(70, 130, 180));
+
+        viewBtn.addActionListener(e -> tableModel.reload());
+        refreshBtn.addActionListener(e -> tableModel.reload());
+
+        buttonPanel.add(viewBtn);
+        buttonPanel.add(refreshBtn);
+
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    private JPanel createAllReservationsPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        PagedTableModel tableModel = createReservationsTableModel();
+
+        JTable table = new JTable(tableModel);
+        table.setFont(new Font("Arial", Font.PLAIN, 12));
+        table.setRowHeight(25);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        JButton viewBtn = createStyledButton("👁️ View All", new Color(30, 144, 255));
+        JButton checkInBtn = createStyledButton("🛎️ Check In", new Color(34, 139, 34));
+        JButton checkOutBtn = createStyledButton("🚪 Check Out", new Color(255, 140, 0));
+        JButton noShowBtn = createStyledButton("🚫 No Show", new Color(128, 128, 128));
+        JButton cancelBtn = createStyledButton("❌ Cancel Selected", new Color(220, 20, 60));
+        JButton refreshBtn = createStyledButton("🔄 Refresh", new Color(70, 130, 180));
+
+        viewBtn.addActionListener(e -> tableModel.reload());
+        checkInBtn.addActionListener(e -> changeStatusAction(table, tableModel, "Checking in", model::checkIn));
+        checkOutBtn.addActionListener(e -> changeStatusAction(table, tableModel, "Checking out", model::checkOut));
+        noShowBtn.addActionListener(e -> changeStatusAction(table, tableModel, "Marking no-show", model::markNoShow));
+        cancelBtn.addActionListener(e -> {
+            int selectedRow = table.getSelectedRow();
+            if (selectedRow != -1) {
+                String resId = (String) tableModel.getValueAt(selectedRow, 0);
+                if (resId != null) {
+                    cancelReservationAction(resId);
+                }
+            }
+        });
+        refreshBtn.addActionListener(e -> tableModel.reload());
+
+        buttonPanel.add(viewBtn);
+        buttonPanel.add(checkInBtn);
+        buttonPanel.add(checkOutBtn);
+        buttonPanel.add(noShowBtn);
+        buttonPanel.add(cancelBtn);
+        buttonPanel.add(refreshBtn);
+
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    private JPanel createReportsPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JTextArea reportArea = new JTextArea();
+        reportArea.setEditable(false);
+        reportArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+
+        JScrollPane scrollPane = new JScrollPane(reportArea);
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        JButton generateBtn = createStyledButton("📊 Generate Report", new Color(138, 43, 226));
+
+        generateBtn.addActionListener(e -> runInBackground("Generating report",
+                model::getBookingStats, stats -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Long> roomTypeBookings = (Map<String, Long>) stats.get("roomTypeBookings");
+
+            StringBuilder report = new StringBuilder();
+            report.append("╔════════════════════════════════════════════════════════╗\n");
+            report.append("║              BOOKING STATISTICS REPORT                ║\n");
+            report.append("╚════════════════════════════════════════════════════════╝\n\n");
+            report.append("Total Confirmed Reservations:  ").append(stats.get("totalReservations")).append("\n");
+            report.append("Total Revenue:                 ₹").append(String.format("%.2f", stats.get("totalRevenue"))).append("\n");
+            report.append("Cancelled Reservations:        ").append(stats.get("cancelledCount")).append("\n\n");
+            report.append("Bookings by Room Type:\n");
+            report.append("─".repeat(54)).append("\n");
+
+            roomTypeBookings.forEach((type, count) ->
+                report.append(String.format("  %-30s: %d bookings\n", type, count))
+            );
+
+            @SuppressWarnings("unchecked")
+            Map<String, Long> statusCounts = (Map<String, Long>) stats.get("statusCounts");
+            report.append("\nReservations by Status:\n");
+            report.append("─".repeat(54)).append("\n");
+            statusCounts.forEach((status, count) ->
+                report.append(String.format("  %-30s: %d\n", status, count))
+            );
+
+            reportArea.setText(report.toString());
+        }));
+
+        // Revenue analytics over a date range
+        JPanel rangePanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+        LocalDate yearStart = LocalDate.now().withDayOfYear(1);
+        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        JTextField fromField = new JTextField(yearStart.format(dateFormat), 10);
+        JTextField toField = new JTextField(yearStart.plusYears(1).minusDays(1).format(dateFormat), 10);
+        JComboBox<RevenueReport.Granularity> granularityCombo = new JComboBox<>(RevenueReport.Granularity.values());
+        granularityCombo.setSelectedItem(RevenueReport.Granularity.MONTH);
+        rangePanel.add(new JLabel("From (dd-MM-yyyy):"));
+        rangePanel.add(fromField);
+        rangePanel.add(new JLabel("To:"));
+        rangePanel.add(toField);
+        rangePanel.add(new JLabel("By:"));
+        rangePanel.add(granularityCombo);
+        panel.add(rangePanel, BorderLayout.NORTH);
+
+        JButton analyticsBtn = createStyledButton("📈 Revenue Analytics", new Color(0, 128, 128));
+        analyticsBtn.addActionListener(e -> {
+            try {
+                LocalDate from = LocalDate.parse(fromField.getText().trim(), dateFormat);
+                LocalDate to = LocalDate.parse(toField.getText().trim(), dateFormat);
+                RevenueReport.Granularity granularity = (RevenueReport.Granularity) granularityCombo.getSelectedItem();
+                runInBackground("Computing revenue analytics",
+                        () -> model.getRevenueReport(from, to, granularity),
+                        report -> {
+                            reportArea.setText(formatRevenueReport(report, dateFormat));
+                            reportArea.setCaretPosition(0);
+                        });
+            } catch (DateTimeParseException ex) {
+                JOptionPane.showMessageDialog(this, "Invalid date format!");
+            }
+        });
+
+        buttonPanel.add(generateBtn);
+        buttonPanel.add(analyticsBtn);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    private static String formatRevenueReport(RevenueReport report, DateTimeFormatter dateFormat) {
+        StringBuilder text = new StringBuilder();
+        text.append("╔════════════════════════════════════════════════════════╗\n");
+        text.append("║              REVENUE & OCCUPANCY ANALYTICS             ║\n");
+        text.append("╚════════════════════════════════════════════════════════╝\n\n");
+        text.append("Range: ").append(report.from().format(dateFormat)).append(" to ")
+                .append(report.to().format(dateFormat)).append(", by ")
+                .append(report.granularity().name().toLowerCase()).append("\n\n");
+        String header = String.format("%-26s %9s %9s %8s %12s %12s %14s%n",
+                "Period / Room Type", "Available", "Sold", "Occ %", "ADR ₹", "RevPAR ₹", "Revenue ₹");
+        text.append(header);
+        text.append("─".repeat(header.length() - 1)).append("\n");
+        appendMetrics(text, "TOTAL", report.total());
+        report.totalByRoomType().forEach((type, metrics) -> appendMetrics(text, "  " + type, metrics));
+        for (RevenueReport.Period period : report.periods()) {
+            text.append("\n");
+            String label = period.start().equals(period.end()) ? period.start().format(dateFormat)
+                    : period.start().format(dateFormat) + " – " + period.end().format(dateFormat);
+            appendMetrics(text, label, period.total());
+            period.byRoomType().forEach((type, metrics) -> appendMetrics(text, "  " + type, metrics));
+        }
+        return text.toString();
+    }
+
+    private static void appendMetrics(StringBuilder text, String label, RevenueReport.Metrics metrics) {
+        text.append(String.format("%-26s %9d %9d %7.1f%% %12.2f %12.2f %14.2f%n", label,
+                metrics.availableRoomNights(), metrics.soldRoomNights(), metrics.occupancyRate() * 100,
+                metrics.averageDailyRate(), metrics.revPar(), metrics.revenue()));
+    }
+
+    private JPanel createOccupancyPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        occupancyHeatmap = new OccupancyHeatmap();
+        refreshOccupancy();
+
+        JScrollPane scrollPane = new JScrollPane(occupancyHeatmap);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(14);
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        JButton refreshBtn = createStyledButton("🔄 Refresh", new Color(70, 130, 180));
+        refreshBtn.addActionListener(e -> refreshOccupancy());
+        buttonPanel.add(refreshBtn);
+
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    /** Next 365 days for every room. */
+    private void refreshOccupancy() {
+        if (occupancyHeatmap == null) return;
+        LocalDate from = LocalDate.now();
+        int days = 365;
+        List<String> roomIds = new ArrayList<>();
+        List<BitSet> occupancy = new ArrayList<>();
+        runInBackground("Loading occupancy", () -> {
+            for (Room room : model.getAllRooms()) {
+                roomIds.add(room.getRoomId());
+                occupancy.add(model.getRoomOccupancy(room.getRoomId(), from, days));
+            }
+            return null;
+        }, ignored -> occupancyHeatmap.setData(from, days, roomIds, occupancy));
+    }
+
+    // ==================== DIALOG METHODS ====================
+
+    private void showRegisterDialog() {
+        JDialog dialog = new JDialog(this, "Register/Login", true);
+        dialog.setSize(400, 350);
+        dialog.setLocationRelativeTo(this);
+
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        // Name
+        gbc.gridx = 0; gbc.gridy = 0;
+        panel.add(new JLabel("Name:"), gbc);
+        gbc.gridx = 1;
+        JTextField nameField = new JTextField(15);
+        panel.add(nameField, gbc);
+
+        // Email
+        gbc.gridx = 0; gbc.gridy = 1;
+        panel.add(new JLabel("Email:"), gbc);
+        gbc.gridx = 1;
+        JTextField emailField = new JTextField(15);
+        panel.add(emailField, gbc);
+
+        // Phone
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(new JLabel("Phone:"), gbc);
+        gbc.gridx = 1;
+        JTextField phoneField = new JTextField(15);
+        panel.add(phoneField, gbc);
+
+        // Address
+        gbc.gridx = 0; gbc.gridy = 3;
+        panel.add(new JLabel("Address:"), gbc);
+        gbc.gridx = 1;
+        JTextArea addressArea = new JTextArea(3, 15);
+        addressArea.setLineWrap(true);
+        JScrollPane addressScroll = new JScrollPane(addressArea);
+        panel.add(addressScroll, gbc);
+
+        // Buttons
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        JButton registerBtn = new JButton("✅ Register");
+        JButton cancelBtn = new JButton("❌ Cancel");
+
+        registerBtn.addActionListener(e -> {
+            String name = nameField.getText().trim();
+            String email = emailField.getText().trim();
+            String phone = phoneField.getText().trim();
+            String address = addressArea.getText().trim();
+
+            if (name.isEmpty() || email.isEmpty() || phone.isEmpty() || address.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog, "All fields are required!");
+                return;
+            }
+
+            registerBtn.setEnabled(false);
+            runInBackground("Registering customer", () -> model.addCustomer(name, email, phone, address),
+                    customer -> {
+                JOptionPane.showMessageDialog(dialog,
+                        "✅ Registration successful!\nYour ID: " + customer.getCustomerId());
+                dialog.dispose();
+            }, () -> registerBtn.setEnabled(true));
+        });
+
+        cancelBtn.addActionListener(e -> dialog.dispose());
+
+        buttonPanel.add(registerBtn);
+        buttonPanel.add(cancelBtn);
+
+        gbc.gridx = 0; gbc.gridy = 4; gbc.gridwidth = 2;
+        panel.add(buttonPanel, gbc);
+
+        dialog.add(panel);
+        dialog.setVisible(true);
+    }
+
+    private void showBookingDialog() {
+        JDialog dialog = new JDialog(this, "Book a Room", true);
+        dialog.setSize(500, 450);
+        dialog.setLocationRelativeTo(this);
+
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        // Customer ID
+        gbc.gridx = 0; gbc.gridy = 0;
+        panel.add(new JLabel("Customer ID:"), gbc);
+        gbc.gridx = 1;
+        JTextField custIdField = new JTextField(15);
+        panel.add(custIdField, gbc);
+
+        // Room Selection
+        gbc.gridx = 0; gbc.gridy = 1;
+        panel.add(new JLabel("Select Room:"), gbc);
+        gbc.gridx = 1;
+        JComboBox<String> roomCombo = new JComboBox<>();
+        runInBackground("Loading rooms", model::getAllRooms, rooms -> {
+            for (Room room : rooms) {
+                roomCombo.addItem(room.toString());
+            }
+        });
+        panel.add(roomCombo, gbc);
+
+        // Check-In
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(new JLabel("Check-In (dd-MM-yyyy):"), gbc);
+        gbc.gridx = 1;
+        JTextField checkInField = new JTextField(15);
+        panel.add(checkInField, gbc);
+
+        // Check-Out
+        gbc.gridx = 0; gbc.gridy = 3;
+        panel.add(new JLabel("Check-Out (dd-MM-yyyy):"), gbc);
+        gbc.gridx = 1;
+        JTextField checkOutField = new JTextField(15);
+        panel.add(checkOutField, gbc);
+
+        // Buttons
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        JButton bookBtn = new JButton("📖 Book Now");
+        JButton cancelBtn = new JButton("❌ Cancel");
+
+        bookBtn.addActionListener(e -> {
+            try {
+                String customerId = custIdField.getText().trim();
+                String roomStr = (String) roomCombo.getSelectedItem();
+                String roomId = roomStr.split(" - ")[0];
+                LocalDate checkIn = LocalDate.parse(checkInField.getText().trim(),
+                        DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+                LocalDate checkOut = LocalDate.parse(checkOutField.getText().trim(),
+                        DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+
+                bookBtn.setEnabled(false);
+                runInBackground("Booking " + roomId,
+                        () -> model.bookReservation(customerId, roomId, checkIn, checkOut), res -> {
+                    if (res != null) {
+                        JOptionPane.showMessageDialog(dialog,
+                                "✅ Booking successful!\nReservation ID: " + res.getReservationId() +
+                                "\nTotal Cost: ₹" + String.format("%.2f", res.getTotalCost()));
+                        dialog.dispose();
+                    } else {
+                        JOptionPane.showMessageDialog(dialog, "❌ Booking failed! Please check details.");
+                    }
+                }, () -> bookBtn.setEnabled(true));
+            } catch (DateTimeParseException ex) {
+                JOptionPane.showMessageDialog(dialog, "Invalid date format!");
+            } catch (Exception ex) {
+                JOptionPane.showMessageDialog(dialog, "Error: " + ex.getMessage());
+            }
+        });
+
+        cancelBtn.addActionListener(e -> dialog.dispose());
+
+        buttonPanel.add(bookBtn);
+        buttonPanel.add(cancelBtn);
+
+        gbc.gridx = 0; gbc.gridy = 4; gbc.gridwidth = 2;
+        panel.add(buttonPanel, gbc);
+
+        dialog.add(panel);
+        dialog.setVisible(true);
+    }
+
+    private void showSearchAvailabilityDialog() {
+        JDialog dialog = new JDialog(this, "Search Availability", true);
+        dialog.setSize(450, 320);
+        dialog.setLocationRelativeTo(this);
+
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        // Check-In
+        gbc.gridx = 0; gbc.gridy = 0;
+        panel.add(new JLabel("Check-In (dd-MM-yyyy):"), gbc);
+        gbc.gridx = 1;
+        JTextField checkInField = new JTextField(15);
+        panel.add(checkInField, gbc);
+
+        // Check-Out
+        gbc.gridx = 0; gbc.gridy = 1;
+        panel.add(new JLabel("Check-Out (dd-MM-yyyy):"), gbc);
+        gbc.gridx = 1;
+        JTextField checkOutField = new JTextField(15);
+        panel.add(checkOutField, gbc);
+
+        // Room Type
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(new JLabel("Room Type:"), gbc);
+        gbc.gridx = 1;
+        JComboBox<String> typeCombo = new JComboBox<>(new String[]{"Any", "Single", "Double", "Suite", "Deluxe"});
+        panel.add(typeCombo, gbc);
+
+        // Capacity
+        gbc.gridx = 0; gbc.gridy = 3;
+        panel.add(new JLabel("Minimum Capacity:"), gbc);
+        gbc.gridx = 1;
+        JSpinner capacitySpinner = new JSpinner(new SpinnerNumberModel(1, 1, 20, 1));
+        panel.add(capacitySpinner, gbc);
+
+        // Max Price
+        gbc.gridx = 0; gbc.gridy = 4;
+        panel.add(new JLabel("Max Price/Night (optional):"), gbc);
+        gbc.gridx = 1;
+        JTextField maxPriceField = new JTextField(15);
+        panel.add(maxPriceField, gbc);
+
+        // Button
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        JButton searchBtn = new JButton("🔍 Search");
+
+        searchBtn.addActionListener(e -> {
+            try {
+                LocalDate checkIn = LocalDate.parse(checkInField.getText().trim(),
+                        DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+                LocalDate checkOut = LocalDate.parse(checkOutField.getText().trim(),
+                        DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+                String type = (String) typeCombo.getSelectedItem();
+                String maxPriceText = maxPriceField.getText().trim();
+                RoomSearch search = new RoomSearch(type.equals("Any") ? Set.of() : Set.of(type),
+                        (Integer) capacitySpinner.getValue(), 0,
+                        maxPriceText.isEmpty() ? Double.POSITIVE_INFINITY : Double.parseDouble(maxPriceText),
+                        checkIn, checkOut, 0);
+
+                searchBtn.setEnabled(false);
+                runInBackground("Searching availability", () -> model.searchRooms(search), available -> {
+                    StringBuilder message = new StringBuilder("Available Rooms:\n\n");
+
+                    for (Room room : available) {
+                        message.append(room.toString()).append("\n");
+                    }
+
+                    if (available.isEmpty()) {
+                        message = new StringBuilder("No available rooms match your search.");
+                    }
+
+                    JTextArea textArea = new JTextArea(message.toString());
+                    textArea.setEditable(false);
+                    textArea.setLineWrap(true);
+                    JScrollPane scrollPane = new JScrollPane(textArea);
+                    scrollPane.setPreferredSize(new Dimension(400, 300));
+
+                    JOptionPane.showMessageDialog(dialog, scrollPane, "Search Results",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    dialog.dispose();
+                }, () -> searchBtn.setEnabled(true));
+            } catch (DateTimeParseException ex) {
+                JOptionPane.showMessageDialog(dialog, "Invalid date format!");
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(dialog, "Invalid price!");
+            }
+        });
+
+        buttonPanel.add(searchBtn);
+        gbc.gridx = 0; gbc.gridy = 5; gbc.gridwidth = 2;
+        panel.add(buttonPanel, gbc);
+
+        dialog.add(panel);
+        dialog.setVisible(true);
+    }
+
+    private void showAddRoomDialog() {
+        JDialog dialog = new JDialog(this, "Add Room", true);
+        dialog.setSize(400, 300);
+        dialog.setLocationRelativeTo(this);
+
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        // Room Type
+        gbc.gridx = 0; gbc.gridy = 0;
+        panel.add(new JLabel("Room Type:"), gbc);
+        gbc.gridx = 1;
+        JComboBox<String> typeCombo = new JComboBox<>(
+                new String[]{"Single", "Double", "Suite", "Deluxe"});
+        panel.add(typeCombo, gbc);
+
+        // Price
+        gbc.gridx = 0; gbc.gridy = 1;
+        panel.add(new JLabel("Price per Night (₹):"), gbc);
+        gbc.gridx = 1;
+        JTextField priceField = new JTextField(15);
+        panel.add(priceField, gbc);
+
+        // Capacity
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(new JLabel("Capacity:"), gbc);
+        gbc.gridx = 1;
+        JSpinner capacitySpinner = new JSpinner(new SpinnerNumberModel(1, 1, 10, 1));
+        panel.add(capacitySpinner, gbc);
+
+        // Buttons
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        JButton addBtn = new JButton("➕ Add");
+        JButton cancelBtn = new JButton("❌ Cancel");
+
+        addBtn.addActionListener(e -> {
+            try {
+                String type = (String) typeCombo.getSelectedItem();
+                double price = Double.parseDouble(priceField.getText().trim());
+                int capacity = (Integer) capacitySpinner.getValue();
+
+                addBtn.setEnabled(false);
+                runInBackground("Adding room", () -> {
+                    model.addRoom(type, price, capacity);
+                    return null;
+                }, ignored -> {
+                    JOptionPane.showMessageDialog(dialog, "✅ Room added successfully!");
+                    dialog.dispose();
+                }, () -> addBtn.setEnabled(true));
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(dialog, "Invalid price!");
+            }
+        });
+
+        cancelBtn.addActionListener(e -> dialog.dispose());
+
+        buttonPanel.add(addBtn);
+        buttonPanel.add(cancelBtn);
+
+        gbc.gridx = 0; gbc.gridy = 3; gbc.gridwidth = 2;
+        panel.add(buttonPanel, gbc);
+
+        dialog.add(panel);
+        dialog.setVisible(true);
+    }
+
+    private void showImportDialog() {
+        DataTransfer.Kind kind = chooseTransferKind("Import");
+        if (kind == null) return;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import " + kind + " (.csv or .json)");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        File file = chooser.getSelectedFile();
+        runInBackground("Importing " + file.getName(), () -> DataTransfer.importFile(model, kind, file), report -> {
+            JTextArea textArea = new JTextArea(report.toString());
+            textArea.setEditable(false);
+            JScrollPane scrollPane = new JScrollPane(textArea);
+            scrollPane.setPreferredSize(new Dimension(450, 250));
+            JOptionPane.showMessageDialog(this, scrollPane, "Import Results", JOptionPane.INFORMATION_MESSAGE);
+        });
+    }
+
+    private void showExportDialog() {
+        DataTransfer.Kind kind = chooseTransferKind("Export");
+        if (kind == null) return;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export " + kind + " (.csv or .json)");
+        chooser.setSelectedFile(new File(kind.toString().toLowerCase() + ".csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        File file = chooser.getSelectedFile();
+        runInBackground("Exporting " + file.getName(), () -> {
+            DataTransfer.exportFile(model, kind, file);
+            return null;
+        }, ignored -> JOptionPane.showMessageDialog(this, "✅ Exported " + kind + " to " + file.getName()));
+    }
+
+    private DataTransfer.Kind chooseTransferKind(String action) {
+        return (DataTransfer.Kind) JOptionPane.showInputDialog(this, action + " which data?", action,
+                JOptionPane.QUESTION_MESSAGE, null, DataTransfer.Kind.values(), DataTransfer.Kind.RESERVATIONS);
+    }
+
+    // ==================== TABLE MODELS ====================
+
+    private PagedTableModel createRoomsTableModel() {
+        PagedTableModel tableModel = new PagedTableModel(
+                new String[]{"Room ID", "Type", "Price/Night (₹)", "Capacity", "Status"}, modelExecutor,
+                model::getRoomCount,
+                (offset, limit) -> toRows(model.getRooms(offset, limit), room -> new Object[]{
+                    room.getRoomId(),
+                    room.getRoomType(),
+                    String.format("%.2f", room.getPricePerNight()),
+                    room.getCapacity(),
+                    model.getRoomStatus(room.getRoomId())
+                }));
+        roomTables.add(tableModel);
+        tableModel.reload();
+        return tableModel;
+    }
+
+    private PagedTableModel createCustomersTableModel() {
+        PagedTableModel tableModel = new PagedTableModel(
+                new String[]{"Customer ID", "Name", "Email", "Phone"}, modelExecutor,
+                model::getCustomerCount,
+                (offset, limit) -> toRows(model.getCustomers(offset, limit), customer -> new Object[]{
+                    customer.getCustomerId(),
+                    customer.getName(),
+                    customer.getEmail(),
+                    customer.getPhoneNumber()
+                }));
+        customerTables.add(tableModel);
+        tableModel.reload();
+        return tableModel;
+    }
+
+    private PagedTableModel createReservationsTableModel() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        PagedTableModel tableModel = new PagedTableModel(
+                new String[]{"Res ID", "Customer", "Room ID", "Check-In", "Check-Out", "Total Cost (₹)", "Status"},
+                modelExecutor, model::getReservationCount,
+                (offset, limit) -> toRows(model.getReservations(offset, limit), res -> new Object[]{
+                    res.getReservationId(),
+                    res.getCustomer().getCustomerId(),
+                    res.getRoom().getRoomId(),
+                    res.getCheckInDate().format(formatter),
+                    res.getCheckOutDate().format(formatter),
+                    String.format("%.2f", res.getTotalCost()),
+                    res.getStatus()
+                }));
+        reservationTables.add(tableModel);
+        tableModel.reload();
+        return tableModel;
+    }
+
+    private static <T> List<Object[]> toRows(List<T> items, Function<T, Object[]> format) {
+        List<Object[]> rows = new ArrayList<>(items.size());
+        for (T item : items) {
+            rows.add(format.apply(item));
+        }
+        return rows;
+    }
+
+    /** Applies a batch of model changes to the open tables; runs on the EDT. */
+    private void modelChanged(List<ModelEvent> events) {
+        boolean roomsAdded = false, roomsRemoved = false, customersAdded = false, reservationsAdded = false;
+        boolean reservationsChanged = false, reservationsMoved = false, dayChanged = false, reloaded = false;
+        for (ModelEvent event : events) {
+            switch (event) {
+                case ModelEvent.RoomAdded e -> roomsAdded = true;
+                case ModelEvent.RoomRemoved e -> {
+                    roomTables.forEach(t -> t.rowDeleted(e.index()));
+                    roomsRemoved = true;
+                }
+                case ModelEvent.CustomerAdded e -> customersAdded = true;
+                case ModelEvent.ReservationBooked e -> reservationsAdded = true;
+                case ModelEvent.ReservationCancelled e -> reservationsChanged = true;
+                case ModelEvent.ReservationStatusChanged e -> reservationsChanged = true;
+                case ModelEvent.DayChanged e -> dayChanged = true;
+                case ModelEvent.ReservationsArchived e -> reservationsMoved = true;
+                case ModelEvent.DataReloaded e -> reloaded = true;
+            }
+        }
+        if (reloaded) {
+            refreshOccupancy();
+            roomTables.forEach(PagedTableModel::reload);
+            customerTables.forEach(PagedTableModel::reload);
+            reservationTables.forEach(PagedTableModel::reload);
+            return;
+        }
+        if (roomsAdded || roomsRemoved || reservationsAdded || reservationsChanged || dayChanged) refreshOccupancy();
+        if (roomsAdded) roomTables.forEach(PagedTableModel::rowsAppended);
+        if (customersAdded) customerTables.forEach(PagedTableModel::rowsAppended);
+        // Status changes and a new day can change what a room is doing today.
+        if (reservationsAdded || reservationsChanged || dayChanged) {
+            roomTables.forEach(PagedTableModel::refreshLoadedPages);
+        }
+        if (reservationsMoved) {
+            reservationTables.forEach(PagedTableModel::reload);
+        } else {
+            if (reservationsAdded) reservationTables.forEach(PagedTableModel::rowsAppended);
+            if (reservationsChanged) reservationTables.forEach(PagedTableModel::refreshLoadedPages);
+        }
+    }
+
+    private void cancelReservationAction(String reservationId) {
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Are you sure you want to cancel this reservation?",
+                "Confirm Cancellation", JOptionPane.YES_NO_OPTION);
+
+        if (confirm == JOptionPane.YES_OPTION) {
+            runInBackground("Cancelling " + reservationId, () -> model.cancelReservation(reservationId), reservation -> {
+                if (reservation == null) {
+                    JOptionPane.showMessageDialog(this, "Reservation " + reservationId + " is archived and can't be cancelled.");
+                } else {
+                    JOptionPane.showMessageDialog(this, "✅ Reservation cancelled successfully!");
+                }
+            });
+        }
+    }
+
+    /** Moves the selected reservation on, e.g. with {@code model::checkIn}; refusals are shown as errors. */
+    private void changeStatusAction(JTable table, PagedTableModel tableModel, String description,
+                                    Function<String, Reservation> change) {
+        int selectedRow = table.getSelectedRow();
+        String resId = selectedRow == -1 ? null : (String) tableModel.getValueAt(selectedRow, 0);
+        if (resId == null) return;
+        runInBackground(description + " " + resId, () -> change.apply(resId), reservation -> {
+            if (reservation == null) {
+                JOptionPane.showMessageDialog(this, "Reservation " + resId + " is archived and can't be changed.");
+            } else {
+                JOptionPane.showMessageDialog(this, "✅ " + resId + " is now " + reservation.getStatus());
+            }
+        });
+    }
+
+    // ==================== BACKGROUND TASKS ====================
+
+    private <T> void runInBackground(String description, Callable<T> work, Consumer<T> onSuccess) {
+        runInBackground(description, work, onSuccess, () -> { });
+    }
+
+    /**
+     * Runs model work on a virtual thread. {@code onSuccess} and {@code always} run on
+     * the EDT afterwards; failures are shown in a dialog instead of reaching onSuccess.
+     * Must be called on the EDT.
+     */
+    private <T> void runInBackground(String description, Callable<T> work, Consumer<T> onSuccess,
+                                     Runnable always) {
+        taskStarted(description);
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return work.call();
+            }
+
+            @Override
+            protected void done() {
+                taskFinished();
+                always.run();
+                try {
+                    onSuccess.accept(get());
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                    JOptionPane.showMessageDialog(HotelReservationGUI.this, "Error: " + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        modelExecutor.execute(worker);
+    }
+
+    private void taskStarted(String description) {
+        runningTasks++;
+        statusLabel.setText(description + "...");
+        progressBar.setVisible(true);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+    }
+
+    private void taskFinished() {
+        if (--runningTasks == 0) {
+            statusLabel.setText("Ready");
+            progressBar.setVisible(false);
+            setCursor(Cursor.getDefaultCursor());
+        }
+    }
+
+    // ==================== UTILITY METHODS ====================
+
+    private JButton createStyledButton(String text, Color color) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, 12));
+        button.setBackground(color);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setPreferredSize(new Dimension(180, 35));
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        return button;
+    }
+
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            try {
+                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            new HotelReservationGUI().setVisible(true);
+        });
+    }
+}
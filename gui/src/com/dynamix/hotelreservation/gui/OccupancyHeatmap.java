@@ -0,0 +1,95 @@
+package com.dynamix.hotelreservation.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Rooms down, days across: a red cell is an occupied room-night. Only the rows
+ * inside the clip are painted, so large hotels scroll smoothly.
+ */
+@SuppressWarnings("serial")
+class OccupancyHeatmap extends JComponent {
+    private static final int CELL_WIDTH = 3;
+    private static final int ROW_HEIGHT = 14;
+    private static final int LABEL_WIDTH = 80;
+    private static final int HEADER_HEIGHT = 20;
+    private static final Color OCCUPIED = new Color(220, 20, 60);
+    private static final Color FREE = new Color(220, 245, 220);
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("MMM yy");
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private LocalDate from = LocalDate.now();
+    private int days;
+    private List<String> roomIds = new ArrayList<>();
+    private List<BitSet> occupancy = new ArrayList<>();
+
+    OccupancyHeatmap() {
+        setToolTipText("");
+        setFont(new Font("Arial", Font.PLAIN, 11));
+    }
+
+    void setData(LocalDate from, int days, List<String> roomIds, List<BitSet> occupancy) {
+        this.from = from;
+        this.days = days;
+        this.roomIds = roomIds;
+        this.occupancy = occupancy;
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(LABEL_WIDTH + days * CELL_WIDTH + 10, HEADER_HEIGHT + roomIds.size() * ROW_HEIGHT);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        g.setColor(Color.WHITE);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        FontMetrics metrics = g.getFontMetrics();
+
+        g.setColor(Color.DARK_GRAY);
+        for (int day = 0; day < days; day++) {
+            LocalDate date = from.plusDays(day);
+            if (day == 0 || date.getDayOfMonth() == 1) {
+                int x = LABEL_WIDTH + day * CELL_WIDTH;
+                g.drawLine(x, HEADER_HEIGHT - 4, x, HEADER_HEIGHT);
+                g.drawString(date.format(MONTH), x + 2, HEADER_HEIGHT - 6);
+            }
+        }
+
+        int firstRow = Math.max(0, (clip.y - HEADER_HEIGHT) / ROW_HEIGHT);
+        int lastRow = Math.min(roomIds.size() - 1, (clip.y + clip.height - HEADER_HEIGHT) / ROW_HEIGHT);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int y = HEADER_HEIGHT + row * ROW_HEIGHT;
+            g.setColor(Color.DARK_GRAY);
+            g.drawString(roomIds.get(row), 4, y + ROW_HEIGHT - (ROW_HEIGHT - metrics.getAscent()) / 2 - 1);
+            g.setColor(FREE);
+            g.fillRect(LABEL_WIDTH, y + 1, days * CELL_WIDTH, ROW_HEIGHT - 2);
+            g.setColor(OCCUPIED);
+            BitSet occupied = occupancy.get(row);
+            for (int day = occupied.nextSetBit(0); day >= 0 && day < days; day = occupied.nextSetBit(day + 1)) {
+                int end = Math.min(days, occupied.nextClearBit(day));
+                g.fillRect(LABEL_WIDTH + day * CELL_WIDTH, y + 1, (end - day) * CELL_WIDTH, ROW_HEIGHT - 2);
+                day = end;
+            }
+        }
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int row = (event.getY() - HEADER_HEIGHT) / ROW_HEIGHT;
+        int day = (event.getX() - LABEL_WIDTH) / CELL_WIDTH;
+        if (event.getY() < HEADER_HEIGHT || event.getX() < LABEL_WIDTH
+                || row >= roomIds.size() || day >= days) return null;
+        return roomIds.get(row) + " · " + from.plusDays(day).format(DAY) + " · "
+                + (occupancy.get(row).get(day) ? "Occupied" : "Free");
+    }
+}
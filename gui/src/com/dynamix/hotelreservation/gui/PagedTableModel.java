@@ -0,0 +1,200 @@
+package com.dynamix.hotelreservation.gui;
+
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Table model that only holds the pages of rows the table has actually painted.
+ * Pages are fetched and formatted on a background executor; until one arrives
+ * its cells read as blank, and the rows are repainted once it does.
+ * Apart from the fetch callbacks, everything runs on the EDT.
+ */
+@SuppressWarnings("serial")
+class PagedTableModel extends AbstractTableModel {
+    static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 50;
+
+    /** Returns formatted rows; called off the EDT. */
+    interface RowFetcher {
+        List<Object[]> rows(int offset, int limit);
+    }
+
+    private final String[] columns;
+    private final Executor executor;
+    private final IntSupplier counter;
+    private final RowFetcher fetcher;
+    private int rowCount;
+    // Bumped whenever row positions change, so pages fetched before that are dropped.
+    private int generation;
+
+    private final Map<Integer, Object[][]> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> loadingPages = new HashSet<>();
+    private final Set<Integer> stalePages = new HashSet<>();
+
+    PagedTableModel(String[] columns, Executor executor, IntSupplier counter, RowFetcher fetcher) {
+        this.columns = columns;
+        this.executor = executor;
+        this.counter = counter;
+        this.fetcher = fetcher;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int page = rowIndex / PAGE_SIZE;
+        Object[][] rows = pages.get(page);
+        if (rows == null) {
+            loadPage(page);
+            return null;
+        }
+        Object[] row = rows[rowIndex % PAGE_SIZE];
+        return row == null ? null : row[columnIndex];
+    }
+
+    // ==================== CHANGE NOTIFICATIONS ====================
+
+    /** Drops every cached row and re-reads the row count. */
+    void reload() {
+        invalidateAll();
+        int expected = generation;
+        fetch(counter::getAsInt, count -> {
+            if (expected != generation) return;
+            rowCount = count;
+            fireTableDataChanged();
+        });
+    }
+
+    /** Rows were added at the end; existing rows keep their positions. */
+    void rowsAppended() {
+        int expected = generation;
+        fetch(counter::getAsInt, count -> {
+            if (expected != generation) return;
+            int previous = rowCount;
+            if (count < previous) {
+                reload();
+                return;
+            }
+            rowCount = count;
+            // The old last page may have been short and now has more rows.
+            if (previous > 0) refreshPage((previous - 1) / PAGE_SIZE);
+            if (count > previous) fireTableRowsInserted(previous, count - 1);
+        });
+    }
+
+    /** One row changed in place; its page is refetched while the old values stay on screen. */
+    void rowUpdated(int rowIndex) {
+        if (rowIndex >= 0 && rowIndex < rowCount) refreshPage(rowIndex / PAGE_SIZE);
+    }
+
+    /** Something changed in place but the caller doesn't know which row; refetches cached pages. */
+    void refreshLoadedPages() {
+        for (Integer page : new ArrayList<>(pages.keySet())) {
+            refreshPage(page);
+        }
+    }
+
+    /** One row was removed; rows below it move up. */
+    void rowDeleted(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) return;
+        int firstShifted = rowIndex / PAGE_SIZE;
+        fenceInFlightLoads();
+        pages.keySet().removeIf(page -> page >= firstShifted);
+        rowCount--;
+        fireTableRowsDeleted(rowIndex, rowIndex);
+    }
+
+    // ==================== PAGE LOADING ====================
+
+    private void invalidateAll() {
+        fenceInFlightLoads();
+        pages.clear();
+    }
+
+    /** Results of loads already started are ignored; cached pages stay. */
+    private void fenceInFlightLoads() {
+        generation++;
+        loadingPages.clear();
+        stalePages.clear();
+    }
+
+    private void refreshPage(int page) {
+        if (loadingPages.contains(page)) {
+            stalePages.add(page);
+        } else {
+            loadPage(page);
+        }
+    }
+
+    private void loadPage(int page) {
+        if (!loadingPages.add(page)) return;
+        int expected = generation;
+        fetch(() -> fetcher.rows(page * PAGE_SIZE, PAGE_SIZE), rows -> {
+            if (expected != generation) return;
+            loadingPages.remove(page);
+            if (stalePages.remove(page)) {
+                loadPage(page);
+                return;
+            }
+            Object[][] data = new Object[PAGE_SIZE][];
+            for (int i = 0; i < rows.size() && i < PAGE_SIZE; i++) {
+                data[i] = rows.get(i);
+            }
+            pages.put(page, data);
+            int first = page * PAGE_SIZE;
+            int last = Math.min(rowCount, first + PAGE_SIZE) - 1;
+            if (first <= last) fireTableRowsUpdated(first, last);
+        }, () -> {
+            if (expected == generation) loadingPages.remove(page);
+        });
+    }
+
+    private <T> void fetch(Supplier<T> work, Consumer<T> onLoaded) {
+        fetch(work, onLoaded, () -> { });
+    }
+
+    private <T> void fetch(Supplier<T> work, Consumer<T> onLoaded, Runnable onFailed) {
+        executor.execute(new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() {
+                return work.get();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    onLoaded.accept(get());
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                    onFailed.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * The Swing desktop client.
+ */
+module com.dynamix.hotelreservation.gui {
+	requires java.desktop;
+	requires com.dynamix.hotelreservation;
+}
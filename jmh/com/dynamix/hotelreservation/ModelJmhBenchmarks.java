@@ -0,0 +1,76 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The read-only hot paths of {@link ModelBenchmarks} as JMH benchmarks, for runs
+ * that need forked JVMs and JMH's statistics. Run with {@code gradle jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelJmhBenchmarks {
+    private static final long SEED = 42;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private SyntheticData data;
+    private HotelReservationModel model;
+    private File dir;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void open() throws IOException {
+        dir = Files.createTempDirectory("hotel-jmh-" + size + "-").toFile();
+        data = new SyntheticData(size, SEED);
+        data.writeTo(dir);
+        model = new HotelReservationModel(dir);
+        random = new Random(SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        model.close();
+        deleteTree(dir);
+    }
+
+    // ==================== BENCHMARKS ====================
+
+    @Benchmark
+    public void getAvailableRoomsForDates(Blackhole blackhole) {
+        int span = Math.max(1, data.lastBookedDay - (int) data.today.toEpochDay());
+        LocalDate checkIn = data.today.plusDays(random.nextInt(span));
+        blackhole.consume(model.getAvailableRoomsForDates(checkIn, checkIn.plusDays(1 + random.nextInt(7))));
+    }
+
+    @Benchmark
+    public void getReservationsByCustomer(Blackhole blackhole) {
+        String customerId = SyntheticData.customerId(1 + random.nextInt(data.customerCount));
+        blackhole.consume(model.getReservationsByCustomer(customerId));
+    }
+
+    @Benchmark
+    public void getBookingStats(Blackhole blackhole) {
+        blackhole.consume(model.getBookingStats());
+    }
+
+    private static void deleteTree(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) deleteTree(child);
+        }
+        file.delete();
+    }
+}
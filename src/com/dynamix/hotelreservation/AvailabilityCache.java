@@ -0,0 +1,95 @@
+package com.dynamix.hotelreservation;
+
+import java.util.*;
+
+/**
+ * Recent availability results, keyed by date range and search filter, evicted least
+ * recently used once there are {@link #MAX_ENTRIES} of them or they hold
+ * {@link #MAX_CACHED_ROOMS} rooms in total. The model invalidates it inside each
+ * mutation, under the lock that serializes that change: a stay that is booked or
+ * gives up its room evicts only the entries whose range overlaps it, room changes and
+ * reloads evict everything.
+ *
+ * A result computed while a change was being applied must not outlive it, so callers
+ * take a {@link #stamp()} before computing and {@link #put} drops the result if any
+ * invalidation happened since.
+ */
+final class AvailabilityCache {
+    static final int MAX_ENTRIES = 512;
+    static final int MAX_CACHED_ROOMS = 1 << 20;
+
+    /** {@code filter} is null for a plain date search; otherwise it must have value equality. */
+    record Key(long firstDay, long lastDay, Object filter) {
+    }
+
+    private final LinkedHashMap<Key, List<Room>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private int cachedRooms;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    synchronized List<Room> get(Key key) {
+        List<Room> rooms = entries.get(key);
+        if (rooms == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return rooms;
+    }
+
+    synchronized long stamp() {
+        return generation;
+    }
+
+    /** {@code rooms} must be immutable. */
+    synchronized void put(Key key, List<Room> rooms, long stamp) {
+        if (stamp != generation || rooms.size() > MAX_CACHED_ROOMS) return;
+        List<Room> previous = entries.put(key, rooms);
+        if (previous != null) cachedRooms -= previous.size();
+        cachedRooms += rooms.size();
+        Iterator<List<Room>> eldest = entries.values().iterator();
+        while (entries.size() > MAX_ENTRIES || cachedRooms > MAX_CACHED_ROOMS) {
+            cachedRooms -= eldest.next().size();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /** Evicts the entries whose range overlaps the stay's dates. */
+    synchronized void invalidate(Reservation reservation) {
+        generation++;
+        long in = reservation.getCheckInDate().toEpochDay();
+        long out = reservation.getCheckOutDate().toEpochDay();
+        for (Iterator<Map.Entry<Key, List<Room>>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Key, List<Room>> entry = it.next();
+            if (entry.getKey().firstDay() <= out && entry.getKey().lastDay() >= in) {
+                cachedRooms -= entry.getValue().size();
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+        cachedRooms = 0;
+    }
+
+    synchronized Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        long lookups = hits + misses;
+        metrics.put("hits", hits);
+        metrics.put("misses", misses);
+        metrics.put("hitRate", lookups == 0 ? 0.0 : (double) hits / lookups);
+        metrics.put("entries", entries.size());
+        metrics.put("cachedRooms", cachedRooms);
+        metrics.put("evictions", evictions);
+        metrics.put("invalidations", invalidations);
+        return metrics;
+    }
+}
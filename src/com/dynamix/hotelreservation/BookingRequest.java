@@ -0,0 +1,9 @@
+package com.dynamix.hotelreservation;
+
+import java.time.LocalDate;
+
+/**
+ * One stay in a group booking; see {@link HotelReservationModel#bookReservations}.
+ */
+public record BookingRequest(String customerId, String roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+}
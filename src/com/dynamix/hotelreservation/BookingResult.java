@@ -0,0 +1,12 @@
+package com.dynamix.hotelreservation;
+
+/**
+ * Outcome of one {@link BookingRequest}: either the reservation made for it or the
+ * reason it was not booked.
+ */
+public record BookingResult(BookingRequest request, Reservation reservation, String error) {
+
+    public boolean isSuccess() {
+        return reservation != null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.dynamix.hotelreservation;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals behind the Reports panel: a count per {@link ReservationStatus},
+ * plus revenue and bookings per room type for the stays whose status counts as
+ * booked. Revenue is kept in paise so that repeated adds and subtracts never drift
+ * the way a double sum would.
+ */
+class BookingStatistics {
+    private static final ReservationStatus[] STATUSES = ReservationStatus.values();
+
+    private final LongAdder[] byStatus = new LongAdder[STATUSES.length];
+    private final LongAdder revenuePaise = new LongAdder();
+    private final Map<String, LongAdder> bookedByRoomType = new ConcurrentHashMap<>();
+
+    BookingStatistics() {
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new LongAdder();
+        }
+    }
+
+    static long toPaise(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /** Counts a reservation in its current status, e.g. when it is booked or loaded. */
+    void record(String roomType, double totalCost, ReservationStatus status) {
+        byStatus[status.ordinal()].increment();
+        if (status.isBooked()) addBooking(roomType, totalCost, 1);
+    }
+
+    void recordTransition(String roomType, double totalCost, ReservationStatus from, ReservationStatus to) {
+        byStatus[from.ordinal()].decrement();
+        byStatus[to.ordinal()].increment();
+        if (from.isBooked() != to.isBooked()) addBooking(roomType, totalCost, to.isBooked() ? 1 : -1);
+    }
+
+    private void addBooking(String roomType, double totalCost, int sign) {
+        revenuePaise.add(sign * toPaise(totalCost));
+        if (roomType != null) bookedByRoomType.computeIfAbsent(roomType, t -> new LongAdder()).add(sign);
+    }
+
+    void reset() {
+        for (LongAdder count : byStatus) {
+            count.reset();
+        }
+        revenuePaise.reset();
+        bookedByRoomType.clear();
+    }
+
+    void copyFrom(BookingStatistics other) {
+        reset();
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i].add(other.byStatus[i].sum());
+        }
+        revenuePaise.add(other.revenuePaise.sum());
+        other.roomTypeCounts().forEach((type, count) ->
+                bookedByRoomType.computeIfAbsent(type, t -> new LongAdder()).add(count));
+    }
+
+    long count(ReservationStatus status) {
+        return byStatus[status.ordinal()].sum();
+    }
+
+    private long booked() {
+        long booked = 0;
+        for (ReservationStatus status : STATUSES) {
+            if (status.isBooked()) booked += count(status);
+        }
+        return booked;
+    }
+
+    Map<String, Long> roomTypeCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        bookedByRoomType.forEach((type, adder) -> {
+            long count = adder.sum();
+            if (count != 0) counts.put(type, count);
+        });
+        return counts;
+    }
+
+    /** Status label to count, in lifecycle order. */
+    Map<String, Long> statusCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ReservationStatus status : STATUSES) {
+            counts.put(status.toString(), count(status));
+        }
+        return counts;
+    }
+
+    boolean matches(BookingStatistics other) {
+        return statusCounts().equals(other.statusCounts())
+                && revenuePaise.sum() == other.revenuePaise.sum()
+                && roomTypeCounts().equals(other.roomTypeCounts());
+    }
+
+    /**
+     * The keys getBookingStats has always returned, where totalReservations counts every
+     * booked status, plus statusCounts.
+     */
+    Map<String, Object> toMap() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalReservations", booked());
+        stats.put("totalRevenue", revenuePaise.sum() / 100.0);
+        stats.put("cancelledCount", count(ReservationStatus.CANCELLED));
+        stats.put("roomTypeBookings", roomTypeCounts());
+        stats.put("statusCounts", statusCounts());
+        return stats;
+    }
+}
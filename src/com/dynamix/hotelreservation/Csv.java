@@ -0,0 +1,108 @@
+package com.dynamix.hotelreservation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 style CSV: fields containing commas, quotes or line breaks are quoted,
+ * and quotes inside them are doubled.
+ */
+final class Csv {
+
+    private Csv() {
+    }
+
+    static void writeRow(Appendable out, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.append(',');
+            String value = values[i] == null ? "" : values[i];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                out.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                out.append(value);
+            }
+        }
+        out.append('\n');
+    }
+
+    /** Reads one record at a time; a quoted field may span lines. */
+    static final class RowReader {
+        private final Reader in;
+        private int peeked = -2;
+        private int line = 1;
+        private int recordLine;
+
+        RowReader(Reader in) {
+            this.in = in;
+        }
+
+        /** Line the last record returned by {@link #next()} started on. */
+        int lineNumber() {
+            return recordLine;
+        }
+
+        /** Returns null at end of input. Blank lines are skipped. */
+        String[] next() throws IOException {
+            while (peek() == '\n' || peek() == '\r') {
+                readLineBreak();
+            }
+            if (peek() == -1) return null;
+            recordLine = line;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                int c = peek();
+                if (quoted) {
+                    if (c == -1) throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                    read();
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == -1 || c == '\n' || c == '\r') {
+                    fields.add(field.toString());
+                    if (c != -1) readLineBreak();
+                    return fields.toArray(new String[0]);
+                } else {
+                    read();
+                    if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else if (c == '"' && field.length() == 0) {
+                        quoted = true;
+                    } else {
+                        field.append((char) c);
+                    }
+                }
+            }
+        }
+
+        private void readLineBreak() throws IOException {
+            if (read() == '\r' && peek() == '\n') read();
+            line++;
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) peeked = in.read();
+            return peeked;
+        }
+
+        private int read() throws IOException {
+            int c = peek();
+            peeked = -2;
+            return c;
+        }
+    }
+}
@@ -4,15 +4,15 @@ import java.io.Serializable;
 
 public class Customer implements Serializable {
     private static final long serialVersionUID = 1L;
+    static final String ID_PREFIX = "CUST";
     private String customerId;
     private String name;
     private String email;
     private String phoneNumber;
     private String address;
-    private static int customerCount = 0;
 
-    public Customer(String name, String email, String phoneNumber, String address) {
-        this.customerId = "CUST" + (++customerCount);
+    Customer(String customerId, String name, String email, String phoneNumber, String address) {
+        this.customerId = customerId;
         this.name = name;
         this.email = email;
         this.phoneNumber = phoneNumber;
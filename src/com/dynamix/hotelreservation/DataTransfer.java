@@ -0,0 +1,375 @@
+package com.dynamix.hotelreservation;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Streaming import and export of rooms, customers and reservations as CSV (with a
+ * header row) or as a JSON array of flat objects. Exports page through the model and
+ * imports read {@link #BATCH_SIZE} records at a time, so memory stays flat however
+ * large the file; each imported batch is applied and journaled as one unit.
+ *
+ * Imported rooms and customers get fresh IDs; customers whose email is already
+ * registered are skipped. Reservations name their customer by email, since customer
+ * IDs from another hotel mean nothing here, and their room by ID in this hotel; only
+ * confirmed ones are imported.
+ */
+public final class DataTransfer {
+    static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    static final String[] ROOM_COLUMNS = {"roomId", "roomType", "pricePerNight", "capacity"};
+    static final String[] CUSTOMER_COLUMNS = {"customerId", "name", "email", "phoneNumber", "address"};
+    static final String[] RESERVATION_COLUMNS = {"reservationId", "customerId", "customerEmail", "roomId",
+            "checkIn", "checkOut", "totalCost", "status"};
+
+    enum Format {
+        CSV, JSON;
+
+        static Format forFile(File file) {
+            return file.getName().toLowerCase(Locale.ROOT).endsWith(".json") ? JSON : CSV;
+        }
+    }
+
+    public enum Kind {
+        ROOMS("Rooms"), CUSTOMERS("Customers"), RESERVATIONS("Reservations");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public static final class ImportReport {
+        int imported;
+        int skipped;
+        int rejected;
+        final List<String> errors = new ArrayList<>();
+
+        private ImportReport() {
+        }
+
+        private void reject(int record, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add("Record " + record + ": " + reason);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder()
+                    .append("Imported: ").append(imported)
+                    .append("\nSkipped: ").append(skipped)
+                    .append("\nRejected: ").append(rejected);
+            for (String error : errors) {
+                text.append('\n').append(error);
+            }
+            if (rejected > errors.size()) text.append("\n...");
+            return text.toString();
+        }
+    }
+
+    private DataTransfer() {
+    }
+
+    // ==================== FILES ====================
+
+    public static void exportFile(HotelReservationModel model, Kind kind, File file) throws IOException {
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file),
+                StandardCharsets.UTF_8), 1 << 16)) {
+            export(model, kind, Format.forFile(file), out);
+        }
+    }
+
+    public static ImportReport importFile(HotelReservationModel model, Kind kind, File file) throws IOException {
+        try (Reader in = new BufferedReader(new InputStreamReader(new FileInputStream(file),
+                StandardCharsets.UTF_8), 1 << 16)) {
+            return importRecords(model, kind, Format.forFile(file), in);
+        }
+    }
+
+    // ==================== EXPORT ====================
+
+    static void export(HotelReservationModel model, Kind kind, Format format, Writer out) throws IOException {
+        RecordWriter writer = format == Format.JSON ? new JsonRecordWriter(out) : new CsvRecordWriter(out);
+        switch (kind) {
+            case ROOMS -> {
+                writer.begin(ROOM_COLUMNS);
+                for (int offset = 0; ; offset += BATCH_SIZE) {
+                    List<Room> page = model.getRooms(offset, BATCH_SIZE);
+                    for (Room room : page) {
+                        writer.write(room.getRoomId(), room.getRoomType(),
+                                Double.toString(room.getPricePerNight()), Integer.toString(room.getCapacity()));
+                    }
+                    if (page.size() < BATCH_SIZE) break;
+                }
+            }
+            case CUSTOMERS -> {
+                writer.begin(CUSTOMER_COLUMNS);
+                for (int offset = 0; ; offset += BATCH_SIZE) {
+                    List<Customer> page = model.getCustomers(offset, BATCH_SIZE);
+                    for (Customer customer : page) {
+                        writer.write(customer.getCustomerId(), customer.getName(), customer.getEmail(),
+                                customer.getPhoneNumber(), customer.getAddress());
+                    }
+                    if (page.size() < BATCH_SIZE) break;
+                }
+            }
+            case RESERVATIONS -> {
+                writer.begin(RESERVATION_COLUMNS);
+                // Archived stays whose customer is gone are left out of a page, so go by count.
+                int total = model.getReservationCount();
+                for (int offset = 0; offset < total; offset += BATCH_SIZE) {
+                    for (Reservation res : model.getReservations(offset, BATCH_SIZE)) {
+                        writer.write(res.getReservationId(), res.getCustomer().getCustomerId(),
+                                res.getCustomer().getEmail(), res.getRoom().getRoomId(),
+                                res.getCheckInDate().toString(), res.getCheckOutDate().toString(),
+                                Double.toString(res.getTotalCost()), res.getStatus().toString());
+                    }
+                }
+            }
+        }
+        writer.end();
+    }
+
+    private interface RecordWriter {
+        void begin(String[] columns) throws IOException;
+
+        void write(String... values) throws IOException;
+
+        void end() throws IOException;
+    }
+
+    private static final class CsvRecordWriter implements RecordWriter {
+        private final Writer out;
+
+        CsvRecordWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void begin(String[] columns) throws IOException {
+            Csv.writeRow(out, columns);
+        }
+
+        @Override
+        public void write(String... values) throws IOException {
+            Csv.writeRow(out, values);
+        }
+
+        @Override
+        public void end() throws IOException {
+            out.flush();
+        }
+    }
+
+    private static final class JsonRecordWriter implements RecordWriter {
+        private final Writer out;
+        private String[] columns;
+        private boolean first = true;
+
+        JsonRecordWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void begin(String[] columns) throws IOException {
+            this.columns = columns;
+            out.write('[');
+        }
+
+        @Override
+        public void write(String... values) throws IOException {
+            out.write(first ? "\n" : ",\n");
+            first = false;
+            out.write('{');
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) out.write(',');
+                Json.quote(out, columns[i]);
+                out.write(':');
+                Json.quote(out, values[i]);
+            }
+            out.write('}');
+        }
+
+        @Override
+        public void end() throws IOException {
+            out.write("\n]\n");
+            out.flush();
+        }
+    }
+
+    // ==================== IMPORT ====================
+
+    static ImportReport importRecords(HotelReservationModel model, Kind kind, Format format, Reader in)
+            throws IOException {
+        RecordReader reader = format == Format.JSON ? new JsonRecordReader(in) : new CsvRecordReader(in);
+        ImportReport report = new ImportReport();
+        List<Map<String, String>> batch = new ArrayList<>(BATCH_SIZE);
+        int firstRecord = 1;
+        for (Map<String, String> record; (record = reader.next()) != null; ) {
+            batch.add(record);
+            if (batch.size() == BATCH_SIZE) {
+                applyBatch(model, kind, batch, firstRecord, report);
+                firstRecord += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) applyBatch(model, kind, batch, firstRecord, report);
+        return report;
+    }
+
+    /** A batch the journal can't take is rolled back by the model, and ends the import. */
+    private static void applyBatch(HotelReservationModel model, Kind kind, List<Map<String, String>> batch,
+                                   int firstRecord, ImportReport report) throws IOException {
+        try {
+            runBatch(model, kind, batch, firstRecord, report);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void runBatch(HotelReservationModel model, Kind kind, List<Map<String, String>> batch,
+                                 int firstRecord, ImportReport report) {
+        model.runBatch(() -> {
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    boolean imported = switch (kind) {
+                        case ROOMS -> importRoom(model, batch.get(i));
+                        case CUSTOMERS -> importCustomer(model, batch.get(i));
+                        case RESERVATIONS -> importReservation(model, batch.get(i));
+                    };
+                    if (imported) {
+                        report.imported++;
+                    } else {
+                        report.skipped++;
+                    }
+                } catch (IllegalArgumentException e) {
+                    report.reject(firstRecord + i, e.getMessage());
+                }
+            }
+        });
+    }
+
+    // Each returns false for a record that is deliberately left out, e.g. a cancelled stay.
+
+    private static boolean importRoom(HotelReservationModel model, Map<String, String> record) {
+        String type = required(record, "roomType");
+        double price = parseDouble(required(record, "pricePerNight"), "pricePerNight");
+        int capacity = (int) parseDouble(required(record, "capacity"), "capacity");
+        if (price <= 0 || capacity <= 0) throw new IllegalArgumentException("price and capacity must be positive");
+        model.addRoom(type, price, capacity);
+        return true;
+    }
+
+    private static boolean importCustomer(HotelReservationModel model, Map<String, String> record) {
+        String email = required(record, "email");
+        if (model.findCustomerByEmail(email) != null) return false;
+        model.addCustomer(required(record, "name"), email,
+                record.getOrDefault("phoneNumber", ""), record.getOrDefault("address", ""));
+        return true;
+    }
+
+    private static boolean importReservation(HotelReservationModel model, Map<String, String> record) {
+        String status = record.getOrDefault("status", "");
+        if (!status.isEmpty() && ReservationStatus.fromLabel(status.trim()) != ReservationStatus.CONFIRMED) return false;
+
+        String email = required(record, "customerEmail");
+        Customer customer = model.findCustomerByEmail(email);
+        if (customer == null) throw new IllegalArgumentException("unknown customer " + email);
+
+        String roomId = required(record, "roomId");
+        LocalDate checkIn = parseDate(required(record, "checkIn"), "checkIn");
+        LocalDate checkOut = parseDate(required(record, "checkOut"), "checkOut");
+        if (!checkOut.isAfter(checkIn)) throw new IllegalArgumentException("checkOut must be after checkIn");
+        if (model.bookReservation(customer.getCustomerId(), roomId, checkIn, checkOut) == null) {
+            throw new IllegalArgumentException("room " + roomId + " unknown or not available");
+        }
+        return true;
+    }
+
+    private static String required(Map<String, String> record, String column) {
+        String value = record.get(column);
+        if (value == null || value.isBlank()) throw new IllegalArgumentException("missing " + column);
+        return value.trim();
+    }
+
+    private static double parseDouble(String value, String column) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad " + column + " '" + value + "'");
+        }
+    }
+
+    private static LocalDate parseDate(String value, String column) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("bad " + column + " '" + value + "', expected yyyy-MM-dd");
+        }
+    }
+
+    private interface RecordReader {
+        /** Returns null at end of input. */
+        Map<String, String> next() throws IOException;
+    }
+
+    private static final class CsvRecordReader implements RecordReader {
+        private final Csv.RowReader rows;
+        private String[] header;
+
+        CsvRecordReader(Reader in) {
+            this.rows = new Csv.RowReader(in);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (header == null) {
+                header = rows.next();
+                if (header == null) return null;
+            }
+            String[] row = rows.next();
+            if (row == null) return null;
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < header.length && i < row.length; i++) {
+                record.put(header[i].trim(), row[i]);
+            }
+            return record;
+        }
+    }
+
+    private static final class JsonRecordReader implements RecordReader {
+        private final Json.Parser parser;
+        private boolean started;
+
+        JsonRecordReader(Reader in) {
+            this.parser = new Json.Parser(in);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (!started) {
+                parser.beginArray();
+                started = true;
+            }
+            if (!parser.hasNext()) return null;
+            if (!(parser.readValue() instanceof Map<?, ?> object)) {
+                throw new IOException("Expected an array of objects");
+            }
+            Map<String, String> record = new HashMap<>();
+            object.forEach((key, value) -> {
+                if (value != null) record.put(key.toString(), value.toString());
+            });
+            return record;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.dynamix.hotelreservation;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * JSON over HTTP for the booking website and kiosks. Every exchange runs on its own
+ * virtual thread and every response carries a Content-Length, so HTTP/1.1 clients
+ * keep their connections open. Dates are ISO yyyy-MM-dd.
+ *
+ * <pre>
+ * GET    /api/rooms/available?checkIn=..&amp;checkOut=..
+ * GET    /api/rooms/search?type=Suite,Deluxe&amp;minCapacity=..&amp;minPrice=..&amp;maxPrice=..&amp;checkIn=..&amp;checkOut=..&amp;limit=..
+ * GET    /api/customers/{id}            GET /api/customers?email=..
+ * POST   /api/customers                 {"name","email","phoneNumber","address"}
+ * GET    /api/reservations/{id}
+ * POST   /api/reservations              {"customerId","roomId","checkIn","checkOut"}, or an array of them booked all or nothing
+ * DELETE /api/reservations/{id}
+ * POST   /api/reservations/{id}/check-in   .../check-out   .../no-show
+ * GET    /api/stats                     GET /api/stats/cache
+ * GET    /api/stats/revenue?from=..&amp;to=..&amp;granularity=day|week|month
+ * </pre>
+ *
+ * Started by {@link HotelServer}.
+ */
+final class HotelApiServer {
+    static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 1024;
+    private static final int MAX_BODY_BYTES = 1 << 20;
+
+    private final HotelReservationModel model;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    HotelApiServer(HotelReservationModel model, int port) throws IOException {
+        this.model = model;
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    /** Lets in-flight exchanges finish for up to a second. The model is left open. */
+    void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    // ==================== ROUTING ====================
+
+    private record Response(int status, Object body) {
+    }
+
+    private static final class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Response response;
+        try {
+            response = route(exchange.getRequestMethod(), exchange.getRequestURI().getRawPath().split("/"),
+                    query(exchange.getRequestURI().getRawQuery()), exchange.getRequestBody());
+        } catch (ApiException e) {
+            response = error(e.status, e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            response = error(500, "Internal error");
+        }
+        send(exchange, response);
+    }
+
+    /** {@code path} is the raw path split on '/', so path[1] is "api". */
+    private Response route(String method, String[] path, Map<String, String> query, InputStream body)
+            throws IOException {
+        String resource = path.length > 2 ? path[2] : "";
+        String id = path.length > 3 ? decode(path[3]) : null;
+        String action = path.length > 4 ? path[4] : null;
+        if (path.length > 5 || action != null && !resource.equals("reservations")) {
+            throw new ApiException(404, "Not found");
+        }
+
+        switch (resource) {
+            case "rooms" -> {
+                requireMethod(method, "GET");
+                if ("available".equals(id)) return availableRooms(query);
+                if ("search".equals(id)) return searchRooms(query);
+                throw new ApiException(404, "Not found");
+            }
+            case "customers" -> {
+                if (id != null) {
+                    requireMethod(method, "GET");
+                    return found(model.findCustomerById(id), "customer " + id);
+                }
+                if (method.equals("POST")) return addCustomer(readObject(body));
+                requireMethod(method, "GET");
+                String email = query.get("email");
+                if (email == null) throw new ApiException(400, "email is required");
+                return found(model.findCustomerByEmail(email), "customer " + email);
+            }
+            case "reservations" -> {
+                if (id == null) {
+                    requireMethod(method, "POST");
+                    return book(readBody(body));
+                }
+                if (action != null) {
+                    requireMethod(method, "POST");
+                    return changeStatus(id, action);
+                }
+                if (method.equals("DELETE")) return cancel(id);
+                requireMethod(method, "GET");
+                return found(model.findReservationById(id), "reservation " + id);
+            }
+            case "stats" -> {
+                requireMethod(method, "GET");
+                if (id == null) return new Response(200, model.getBookingStats());
+                if (id.equals("cache")) return new Response(200, model.getAvailabilityCacheStats());
+                if (id.equals("revenue")) return revenueReport(query);
+                throw new ApiException(404, "Not found");
+            }
+            default -> throw new ApiException(404, "Not found");
+        }
+    }
+
+    // ==================== ENDPOINTS ====================
+
+    private Response availableRooms(Map<String, String> query) {
+        LocalDate checkIn = date(query.get("checkIn"), "checkIn");
+        LocalDate checkOut = date(query.get("checkOut"), "checkOut");
+        if (!checkOut.isAfter(checkIn)) throw new ApiException(400, "checkOut must be after checkIn");
+        List<Object> rooms = new ArrayList<>();
+        for (Room room : model.getAvailableRoomsForDates(checkIn, checkOut)) {
+            rooms.add(toJson(room));
+        }
+        return new Response(200, rooms);
+    }
+
+    private Response searchRooms(Map<String, String> query) {
+        String types = query.get("type");
+        boolean dated = query.containsKey("checkIn") || query.containsKey("checkOut");
+        LocalDate checkIn = dated ? date(query.get("checkIn"), "checkIn") : null;
+        LocalDate checkOut = dated ? date(query.get("checkOut"), "checkOut") : null;
+        if (dated && !checkOut.isAfter(checkIn)) throw new ApiException(400, "checkOut must be after checkIn");
+        RoomSearch search = new RoomSearch(
+                types == null || types.isBlank() ? Set.of() : Set.of(types.split(",")),
+                (int) number(query, "minCapacity", 0), number(query, "minPrice", 0),
+                number(query, "maxPrice", Double.POSITIVE_INFINITY), checkIn, checkOut,
+                (int) number(query, "limit", 0));
+        List<Object> rooms = new ArrayList<>();
+        for (Room room : model.searchRooms(search)) {
+            rooms.add(toJson(room));
+        }
+        return new Response(200, rooms);
+    }
+
+    private Response addCustomer(Map<?, ?> request) {
+        String email = string(request, "email");
+        if (model.findCustomerByEmail(email) != null) throw new ApiException(409, "email already registered");
+        Customer customer = model.addCustomer(string(request, "name"), email,
+                optionalString(request, "phoneNumber"), optionalString(request, "address"));
+        return new Response(201, toJson(customer));
+    }
+
+    private Response book(Object request) {
+        if (request instanceof List<?> group) {
+            List<BookingRequest> requests = new ArrayList<>(group.size());
+            for (Object item : group) {
+                if (!(item instanceof Map<?, ?> object)) throw new ApiException(400, "Expected an array of objects");
+                requests.add(bookingRequest(object));
+            }
+            List<BookingResult> results = model.bookReservations(requests);
+            boolean booked = results.stream().allMatch(BookingResult::isSuccess);
+            List<Object> body = new ArrayList<>(results.size());
+            for (BookingResult result : results) {
+                body.add(result.isSuccess() ? toJson(result.reservation()) : Map.of("error", result.error()));
+            }
+            return new Response(booked ? 201 : 409, body);
+        }
+        if (!(request instanceof Map<?, ?> object)) throw new ApiException(400, "Expected an object or an array");
+
+        BookingRequest booking = bookingRequest(object);
+        Reservation reservation = model.bookReservation(booking.customerId(), booking.roomId(),
+                booking.checkInDate(), booking.checkOutDate());
+        if (reservation != null) return new Response(201, toJson(reservation));
+        if (model.findCustomerById(booking.customerId()) == null) {
+            throw new ApiException(404, "Unknown customer " + booking.customerId());
+        }
+        throw new ApiException(409, "Room " + booking.roomId() + " is unknown or not available");
+    }
+
+    private Response cancel(String reservationId) {
+        Reservation reservation;
+        try {
+            reservation = model.cancelReservation(reservationId);
+        } catch (IllegalStateException e) {
+            throw new ApiException(409, e.getMessage());
+        }
+        if (reservation == null) throw new ApiException(404, "Unknown or archived reservation " + reservationId);
+        return new Response(200, toJson(reservation));
+    }
+
+    private Response changeStatus(String reservationId, String action) {
+        Reservation reservation;
+        try {
+            reservation = switch (action) {
+                case "check-in" -> model.checkIn(reservationId);
+                case "check-out" -> model.checkOut(reservationId);
+                case "no-show" -> model.markNoShow(reservationId);
+                default -> throw new ApiException(404, "Not found");
+            };
+        } catch (IllegalStateException e) {
+            throw new ApiException(409, e.getMessage());
+        }
+        if (reservation == null) throw new ApiException(404, "Unknown or archived reservation " + reservationId);
+        return new Response(200, toJson(reservation));
+    }
+
+    private Response revenueReport(Map<String, String> query) {
+        LocalDate from = date(query.get("from"), "from");
+        LocalDate to = date(query.get("to"), "to");
+        String granularity = query.getOrDefault("granularity", "month");
+        RevenueReport report;
+        try {
+            report = model.getRevenueReport(from, to,
+                    RevenueReport.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, e.getMessage());
+        }
+        List<Object> periods = new ArrayList<>(report.periods().size());
+        for (RevenueReport.Period period : report.periods()) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("start", period.start().toString());
+            json.put("end", period.end().toString());
+            json.put("total", toJson(period.total()));
+            json.put("byRoomType", toJson(period.byRoomType()));
+            periods.add(json);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("from", report.from().toString());
+        body.put("to", report.to().toString());
+        body.put("granularity", report.granularity().name().toLowerCase(Locale.ROOT));
+        body.put("total", toJson(report.total()));
+        body.put("byRoomType", toJson(report.totalByRoomType()));
+        body.put("periods", periods);
+        return new Response(200, body);
+    }
+
+    private BookingRequest bookingRequest(Map<?, ?> object) {
+        BookingRequest request = new BookingRequest(string(object, "customerId"), string(object, "roomId"),
+                date(object.get("checkIn"), "checkIn"), date(object.get("checkOut"), "checkOut"));
+        if (!request.checkOutDate().isAfter(request.checkInDate())) {
+            throw new ApiException(400, "checkOut must be after checkIn");
+        }
+        return request;
+    }
+
+    private static Response found(Object value, String what) {
+        if (value == null) throw new ApiException(404, "Unknown " + what);
+        if (value instanceof Customer customer) return new Response(200, toJson(customer));
+        return new Response(200, toJson((Reservation) value));
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) throw new ApiException(405, "Use " + expected);
+    }
+
+    // ==================== JSON ====================
+
+    private static Map<String, Object> toJson(Room room) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("roomId", room.getRoomId());
+        json.put("roomType", room.getRoomType());
+        json.put("pricePerNight", room.getPricePerNight());
+        json.put("capacity", room.getCapacity());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(Customer customer) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("customerId", customer.getCustomerId());
+        json.put("name", customer.getName());
+        json.put("email", customer.getEmail());
+        json.put("phoneNumber", customer.getPhoneNumber());
+        json.put("address", customer.getAddress());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(Reservation reservation) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("reservationId", reservation.getReservationId());
+        json.put("customerId", reservation.getCustomer().getCustomerId());
+        json.put("roomId", reservation.getRoom().getRoomId());
+        json.put("roomType", reservation.getRoom().getRoomType());
+        json.put("checkIn", reservation.getCheckInDate().toString());
+        json.put("checkOut", reservation.getCheckOutDate().toString());
+        json.put("nights", reservation.getNights());
+        json.put("totalCost", reservation.getTotalCost());
+        json.put("status", reservation.getStatus().toString());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(RevenueReport.Metrics metrics) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("availableRoomNights", metrics.availableRoomNights());
+        json.put("soldRoomNights", metrics.soldRoomNights());
+        json.put("occupancyRate", metrics.occupancyRate());
+        json.put("adr", metrics.averageDailyRate());
+        json.put("revPar", metrics.revPar());
+        json.put("revenue", metrics.revenue());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(Map<String, RevenueReport.Metrics> byRoomType) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        byRoomType.forEach((type, metrics) -> json.put(type, toJson(metrics)));
+        return json;
+    }
+
+    private static Response error(int status, String message) {
+        return new Response(status, Map.of("error", message));
+    }
+
+    private static String string(Map<?, ?> object, String name) {
+        if (!(object.get(name) instanceof String value) || value.isBlank()) {
+            throw new ApiException(400, name + " is required");
+        }
+        return value.trim();
+    }
+
+    private static String optionalString(Map<?, ?> object, String name) {
+        return object.get(name) instanceof String value ? value.trim() : "";
+    }
+
+    private static double number(Map<String, String> query, String name, double absent) {
+        String value = query.get(name);
+        if (value == null || value.isBlank()) return absent;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "bad " + name + " '" + value + "'");
+        }
+    }
+
+    private static LocalDate date(Object value, String name) {
+        if (!(value instanceof String text)) throw new ApiException(400, name + " is required");
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "bad " + name + " '" + text + "', expected yyyy-MM-dd");
+        }
+    }
+
+    // ==================== HTTP ====================
+
+    private static Object readBody(InputStream in) throws IOException {
+        byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) throw new ApiException(413, "Request body too large");
+        try {
+            return Json.parse(new String(bytes, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new ApiException(400, e.getMessage());
+        }
+    }
+
+    private static Map<?, ?> readObject(InputStream in) throws IOException {
+        if (!(readBody(in) instanceof Map<?, ?> object)) throw new ApiException(400, "Expected an object");
+        return object;
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) return params;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) params.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+        }
+        return params;
+    }
+
+    private static String decode(String text) {
+        return URLDecoder.decode(text, StandardCharsets.UTF_8);
+    }
+
+    /** A fixed-length body; the request body is drained first so the connection can be reused. */
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            byte[] body = Json.toJson(response.body()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -1,88 +1,350 @@
 package com.dynamix.hotelreservation;
 
 import java.io.*;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Thread-safe. Bookings, cancellations and other status changes hold the shared state
+ * lock plus the stripe lock of their room, so different rooms proceed in parallel while
+ * the availability check and insert for one room are atomic. Loading, compaction and the
+ * day rollover take the state lock exclusively.
+ */
 public class HotelReservationModel {
     private List<Room> rooms;
     private List<Customer> customers;
-    private List<Reservation> reservations;
-    private final String ROOMS_FILE = "rooms.dat";
-    private final String CUSTOMERS_FILE = "customers.dat";
-    private final String RESERVATIONS_FILE = "reservations.dat";
+    private ReservationTable reservations;
+    private final Map<String, Room> retiredRooms = new LinkedHashMap<>();
+    private final IntHashMap<Room> roomsById = new IntHashMap<>();
+    private final IntHashMap<Customer> customersById = new IntHashMap<>();
+    private final Map<String, Customer> customersByEmail = new ConcurrentHashMap<>();
+    private final IntHashMap<Reservation> liveReservationsById = new IntHashMap<>();
+    private final IntHashMap<List<Reservation>> liveReservationsByCustomer = new IntHashMap<>();
+    private final BookingStatistics stats = new BookingStatistics();
+    private NavigableMap<Integer, Integer> uncountedHistory = new TreeMap<>();
+    private final RoomAvailabilityIndex availabilityIndex = new RoomAvailabilityIndex();
+    private final OccupancyCalendar calendar = new OccupancyCalendar();
+    private final File dataDir;
+    private ReservationJournal journal;
+    private final ReservationHistory history;
+    private final IdAllocator ids;
+    private final ModelEventBus events = new ModelEventBus();
+    private final AvailabilityCache availabilityCache = new AvailabilityCache();
+    private final RoomIndex roomIndex = new RoomIndex();
+    private final ScheduledExecutorService dayRollover = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "day-rollover");
+        t.setDaemon(true);
+        return t;
+    });
+    static final String ROOMS_FILE = "rooms.dat";
+    static final String CUSTOMERS_FILE = "customers.dat";
+    static final String RESERVATIONS_FILE = "reservations.dat";
+    static final String JOURNAL_FILE = "journal.dat";
+    static final String HISTORY_DIR = "reservations-history";
+    /** The single history file used before it was partitioned by month. */
+    static final String LEGACY_HISTORY_FILE = "reservations-history.dat";
+    static final String SEQUENCES_FILE = "sequences.dat";
+    private static final int COMPACTION_THRESHOLD = 1000;
+    private static final int ROOM_LOCK_STRIPES = 64;
+
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] roomLocks = new ReentrantLock[ROOM_LOCK_STRIPES];
+    private final Object customerLock = new Object();
 
     public HotelReservationModel() {
-        this.rooms = new ArrayList<>();
-        this.customers = new ArrayList<>();
-        this.reservations = new ArrayList<>();
+        this(new File("."));
+    }
+
+    public HotelReservationModel(File dataDir) {
+        this.dataDir = dataDir;
+        // The journal and ID allocator open their files straight away.
+        dataDir.mkdirs();
+        this.rooms = new CopyOnWriteArrayList<>();
+        this.customers = new CopyOnWriteArrayList<>();
+        this.reservations = newReservationTable(0);
+        for (int i = 0; i < ROOM_LOCK_STRIPES; i++) {
+            roomLocks[i] = new ReentrantLock();
+        }
+        this.history = new ReservationHistory(new File(dataDir, HISTORY_DIR));
+        this.ids = new IdAllocator(new File(dataDir, SEQUENCES_FILE));
+        openJournal();
         loadAllData();
         if (rooms.isEmpty()) {
             initializeSampleRooms();
         }
+        scheduleDayRollover();
+    }
+
+    // ==================== CHANGE EVENTS ====================
+
+    /** Delivers batches of changes on {@code executor}, e.g. {@code SwingUtilities::invokeLater}. */
+    public void addModelListener(ModelListener listener, Executor executor) {
+        events.addListener(listener, executor);
+    }
+
+    public void removeModelListener(ModelListener listener) {
+        events.removeListener(listener);
     }
 
     // ==================== ROOM OPERATIONS ====================
 
-    public void addRoom(String roomType, double pricePerNight, int capacity) {
-        Room room = new Room(roomType, pricePerNight, capacity);
-        rooms.add(room);
-        saveRooms();
+    public Room addRoom(String roomType, double pricePerNight, int capacity) {
+        Room room = new Room(ids.rooms.nextId(), roomType, pricePerNight, capacity);
+        stateLock.readLock().lock();
+        try {
+            // Journal before publishing so no booking for the room can be logged ahead of it.
+            logMutation(j -> j.appendAddRoom(room));
+            rooms.add(room);
+            roomsById.put(RecordCodec.numericId(room.getRoomId()), room);
+            roomsChanged();
+            events.publish(new ModelEvent.RoomAdded(room));
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        compactIfNeeded();
+        return room;
     }
 
-    public void removeRoom(String roomId) {
-        Room room = findRoomById(roomId);
-        if (room != null && room.isAvailable()) {
-            rooms.remove(room);
-            saveRooms();
+    /**
+     * Retires the room unless a stay holds it today or later. Returns whether it was
+     * removed; past stays keep referring to it.
+     */
+    public boolean removeRoom(String roomId) {
+        rollCalendarIfNeeded();
+        boolean removed = false;
+        stateLock.writeLock().lock();
+        try {
+            Room room = findRoomById(roomId);
+            if (room != null && availabilityIndex.isFreeFromToday(roomId)) {
+                logMutation(j -> j.appendRemoveRoom(roomId));
+                int index = rooms.indexOf(room);
+                rooms.remove(room);
+                roomsById.remove(RecordCodec.numericId(roomId));
+                retiredRooms.put(roomId, room);
+                roomsChanged();
+                events.publish(new ModelEvent.RoomRemoved(room, index));
+                removed = true;
+            }
+        } finally {
+            stateLock.writeLock().unlock();
         }
+        compactIfNeeded();
+        return removed;
     }
 
     public List<Room> getAllRooms() {
         return new ArrayList<>(rooms);
     }
 
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    /** One page of {@link #getAllRooms()}. */
+    public List<Room> getRooms(int offset, int limit) {
+        return page(rooms, offset, limit);
+    }
+
+    /** Rooms nobody is staying in or due into today. */
     public List<Room> getAvailableRooms() {
+        rollCalendarIfNeeded();
         return rooms.stream()
-                .filter(Room::isAvailable)
+                .filter(room -> availabilityIndex.statusToday(room.getRoomId()) == RoomStatus.AVAILABLE)
                 .collect(Collectors.toList());
     }
 
+    /** What the room is doing today; O(1) from the availability index's view of today. */
+    public RoomStatus getRoomStatus(String roomId) {
+        rollCalendarIfNeeded();
+        return availabilityIndex.statusToday(roomId);
+    }
+
+    /**
+     * Rooms with no confirmed stay overlapping the dates, regardless of bookings on other
+     * dates. Repeated searches are served from a cache; the returned list is unmodifiable.
+     */
     public List<Room> getAvailableRoomsForDates(LocalDate checkIn, LocalDate checkOut) {
-        return rooms.stream()
-                .filter(room -> room.isAvailable() && isRoomAvailable(room, checkIn, checkOut))
-                .collect(Collectors.toList());
+        return cachedAvailability(checkIn, checkOut, null, () -> rooms.stream()
+                .filter(room -> isRoomAvailable(room, checkIn, checkOut))
+                .toList());
+    }
+
+    /**
+     * Rooms matching every criterion of the search, cheapest first, read from price-sorted
+     * indexes by type and capacity instead of scanning all rooms. Searches with dates are
+     * cached like {@link #getAvailableRoomsForDates}; the returned list is unmodifiable.
+     */
+    public List<Room> searchRooms(RoomSearch search) {
+        LocalDate checkIn = search.checkInDate();
+        LocalDate checkOut = search.checkOutDate();
+        if (checkIn == null) return List.copyOf(roomIndex.search(search, rooms, room -> true));
+        return cachedAvailability(checkIn, checkOut, search, () -> List.copyOf(
+                roomIndex.search(search, rooms, room -> isRoomAvailable(room, checkIn, checkOut))));
+    }
+
+    /** {@code compute} runs under the read lock and must return an unmodifiable list. */
+    private List<Room> cachedAvailability(LocalDate checkIn, LocalDate checkOut, Object filter,
+                                          Supplier<List<Room>> compute) {
+        rollCalendarIfNeeded();
+        AvailabilityCache.Key key = new AvailabilityCache.Key(checkIn.toEpochDay(), checkOut.toEpochDay(), filter);
+        List<Room> cached = availabilityCache.get(key);
+        if (cached != null) return cached;
+
+        long stamp = availabilityCache.stamp();
+        List<Room> available;
+        stateLock.readLock().lock();
+        try {
+            available = compute.get();
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        availabilityCache.put(key, available, stamp);
+        return available;
+    }
+
+    /** Hits, misses, evictions and size of the availability search cache. */
+    public Map<String, Object> getAvailabilityCacheStats() {
+        return availabilityCache.metrics();
+    }
+
+    /**
+     * Bit i is set when the room is occupied on {@code from + i}, counting check-in
+     * through check-out day. Served from the occupancy calendar within its horizon.
+     */
+    public BitSet getRoomOccupancy(String roomId, LocalDate from, int days) {
+        rollCalendarIfNeeded();
+        stateLock.readLock().lock();
+        try {
+            int id = RecordCodec.parseId(roomId, Room.ID_PREFIX);
+            Room room = id < 0 ? null : resolveRoom(id);
+            if (room == null) return new BitSet();
+            long first = from.toEpochDay();
+            BitSet occupied = calendar.occupancy(roomId, first, days);
+            for (int i = 0; i < days; i++) {
+                if (calendar.covers(first + i, first + i)) continue;
+                LocalDate day = from.plusDays(i);
+                if (!isRoomAvailable(room, day, day)) occupied.set(i);
+            }
+            return occupied;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the room index and every cached search. Called directly rather than from a
+     * model listener, so the next search after the change can't see stale results.
+     */
+    private void roomsChanged() {
+        roomIndex.invalidate();
+        availabilityCache.clear();
     }
 
     private Room findRoomById(String roomId) {
-        return rooms.stream()
-                .filter(r -> r.getRoomId().equals(roomId))
-                .findFirst()
-                .orElse(null);
+        int id = RecordCodec.parseId(roomId, Room.ID_PREFIX);
+        return id < 0 ? null : roomsById.get(id);
+    }
+
+    private ReentrantLock lockFor(Room room) {
+        int h = room.getRoomId().hashCode();
+        return roomLocks[(h ^ (h >>> 16)) & (ROOM_LOCK_STRIPES - 1)];
+    }
+
+    /** Looks up a room by numeric ID, including removed rooms that reservations still reference. */
+    private Room resolveRoom(int roomId) {
+        Room room = roomsById.get(roomId);
+        return room != null ? room : retiredRooms.get(Room.ID_PREFIX + roomId);
     }
 
     private boolean isRoomAvailable(Room room, LocalDate checkInDate, LocalDate checkOutDate) {
-        return reservations.stream()
-                .filter(r -> r.getRoom().getRoomId().equals(room.getRoomId()))
-                .filter(r -> r.getStatus().equals("Confirmed"))
-                .noneMatch(r -> !(checkOutDate.isBefore(r.getCheckInDate()) || 
-                                 checkInDate.isAfter(r.getCheckOutDate())));
+        long first = checkInDate.toEpochDay();
+        long last = checkOutDate.toEpochDay();
+        if (calendar.covers(first, last)) {
+            return calendar.isFree(room.getRoomId(), first, last);
+        }
+        if (!availabilityIndex.isAvailable(room.getRoomId(), checkInDate, checkOutDate)) return false;
+        // Archived stays that still hold their room all ended before today, so only ranges
+        // reaching into the past can hit them.
+        return !checkInDate.isBefore(LocalDate.now())
+                || !history.overlaps(RecordCodec.numericId(room.getRoomId()), first, last);
+    }
+
+    /**
+     * Moves the calendar's horizon and the availability index's view of today to the
+     * current date. Runs from the day-rollover task and, in case that is late, before
+     * anything that depends on the date. Must be called without the state lock held;
+     * days already inside the horizon stay correct either way, so a late roll only
+     * narrows what the calendar answers.
+     */
+    private void rollCalendarIfNeeded() {
+        long today = LocalDate.now().toEpochDay();
+        if (calendar.originDay() == today) return;
+        stateLock.writeLock().lock();
+        try {
+            if (calendar.originDay() != today) {
+                calendar.rebuild(reservations, today);
+                availabilityIndex.rollTo(LocalDate.ofEpochDay(today));
+                events.publish(new ModelEvent.DayChanged(LocalDate.ofEpochDay(today)));
+            }
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    /** Rolls over just after each local midnight, rescheduling itself so clock changes are picked up. */
+    private void scheduleDayRollover() {
+        LocalDateTime now = LocalDateTime.now();
+        long delay = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis();
+        try {
+            dayRollover.schedule(() -> {
+                try {
+                    rollCalendarIfNeeded();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+                scheduleDayRollover();
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Closed.
+        }
     }
 
     // ==================== CUSTOMER OPERATIONS ====================
 
     public Customer addCustomer(String name, String email, String phoneNumber, String address) {
-        Customer existing = customers.stream()
-                .filter(c -> c.getEmail().equals(email))
-                .findFirst()
-                .orElse(null);
+        Customer customer;
+        stateLock.readLock().lock();
+        try {
+            synchronized (customerLock) {
+                Customer existing = customersByEmail.get(email);
 
-        if (existing != null) return existing;
+                if (existing != null) return existing;
 
-        Customer customer = new Customer(name, email, phoneNumber, address);
-        customers.add(customer);
-        saveCustomers();
+                customer = new Customer(ids.customers.nextId(), name, email, phoneNumber, address);
+                logMutation(j -> j.appendAddCustomer(customer));
+                indexCustomer(customer);
+                events.publish(new ModelEvent.CustomerAdded(customer));
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        compactIfNeeded();
         return customer;
     }
 
@@ -90,18 +352,41 @@ public class HotelReservationModel {
         return new ArrayList<>(customers);
     }
 
+    public int getCustomerCount() {
+        return customers.size();
+    }
+
+    /** One page of {@link #getAllCustomers()}. */
+    public List<Customer> getCustomers(int offset, int limit) {
+        return page(customers, offset, limit);
+    }
+
+    /** Slices one snapshot of a copy-on-write list, so concurrent adds and removes can't tear a page. */
+    private static <T> List<T> page(List<T> list, int offset, int limit) {
+        if (offset < 0 || limit <= 0) return new ArrayList<>();
+        Object[] snapshot = list.toArray();
+        List<T> page = new ArrayList<>(Math.max(0, Math.min(limit, snapshot.length - offset)));
+        for (int i = offset; i < snapshot.length && page.size() < limit; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) snapshot[i];
+            page.add(item);
+        }
+        return page;
+    }
+
     public Customer findCustomerById(String customerId) {
-        return customers.stream()
-                .filter(c -> c.getCustomerId().equals(customerId))
-                .findFirst()
-                .orElse(null);
+        int id = RecordCodec.parseId(customerId, Customer.ID_PREFIX);
+        return id < 0 ? null : customersById.get(id);
     }
 
     public Customer findCustomerByEmail(String email) {
-        return customers.stream()
-                .filter(c -> c.getEmail().equals(email))
-                .findFirst()
-                .orElse(null);
+        return email == null ? null : customersByEmail.get(email);
+    }
+
+    private void indexCustomer(Customer customer) {
+        customers.add(customer);
+        customersById.put(RecordCodec.numericId(customer.getCustomerId()), customer);
+        customersByEmail.putIfAbsent(customer.getEmail(), customer);
     }
 
     // ==================== RESERVATION OPERATIONS ====================
@@ -112,155 +397,845 @@ public class HotelReservationModel {
             return null;
         }
 
-        Customer customer = findCustomerById(customerId);
-        Room room = findRoomById(roomId);
+        rollCalendarIfNeeded();
+        Reservation reservation;
+        stateLock.readLock().lock();
+        try {
+            Customer customer = findCustomerById(customerId);
+            Room room = findRoomById(roomId);
 
-        if (customer == null || room == null) return null;
-        if (!isRoomAvailable(room, checkInDate, checkOutDate)) return null;
+            if (customer == null || room == null) return null;
 
-        Reservation reservation = new Reservation(customer, room, checkInDate, checkOutDate);
-        reservations.add(reservation);
-        room.setAvailable(false);
-        saveAll();
+            ReentrantLock roomLock = lockFor(room);
+            roomLock.lock();
+            try {
+                if (!isRoomAvailable(room, checkInDate, checkOutDate)) return null;
+
+                Reservation booked = new Reservation(ids.reservations.nextId(), customer, room,
+                        checkInDate, checkOutDate);
+                logMutation(j -> j.appendBooking(booked));
+                reservation = applyBooking(booked);
+                events.publish(new ModelEvent.ReservationBooked(reservation));
+            } finally {
+                roomLock.unlock();
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        compactIfNeeded();
 
         return reservation;
     }
 
-    public void cancelReservation(String reservationId) {
-        Reservation reservation = findReservationById(reservationId);
-        if (reservation != null && reservation.getStatus().equals("Confirmed")) {
-            reservation.setStatus("Cancelled");
-            reservation.getRoom().setAvailable(true);
-            saveAll();
+    /**
+     * Books a group of stays all or nothing. Every request is checked against current
+     * availability and against the other requests before any is booked, and the whole
+     * group is journaled as one record. Results are in request order; if anything fails,
+     * no result has a reservation and the failing requests say why.
+     */
+    public List<BookingResult> bookReservations(List<BookingRequest> requests) {
+        List<BookingResult> results = new ArrayList<>(requests.size());
+        rollCalendarIfNeeded();
+        runBatch(() -> {
+            String[] errors = new String[requests.size()];
+            boolean failed = false;
+            for (int i = 0; i < requests.size(); i++) {
+                errors[i] = validateBooking(requests, i);
+                failed |= errors[i] != null;
+            }
+            for (int i = 0; i < requests.size(); i++) {
+                BookingRequest request = requests.get(i);
+                if (failed) {
+                    String error = errors[i] != null ? errors[i] : "Not booked because another request in the group failed";
+                    results.add(new BookingResult(request, null, error));
+                    continue;
+                }
+                Reservation booked = new Reservation(ids.reservations.nextId(),
+                        findCustomerById(request.customerId()), findRoomById(request.roomId()),
+                        request.checkInDate(), request.checkOutDate());
+                logMutation(j -> j.appendBooking(booked));
+                Reservation reservation = applyBooking(booked);
+                events.publish(new ModelEvent.ReservationBooked(reservation));
+                results.add(new BookingResult(request, reservation, null));
+            }
+        });
+        return results;
+    }
+
+    /** Returns why request {@code index} can't be booked, or null. Caller holds the state lock exclusively. */
+    private String validateBooking(List<BookingRequest> requests, int index) {
+        BookingRequest request = requests.get(index);
+        LocalDate checkIn = request.checkInDate();
+        LocalDate checkOut = request.checkOutDate();
+        if (checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            return "Check-out must be after check-in";
+        }
+        if (findCustomerById(request.customerId()) == null) return "Unknown customer " + request.customerId();
+        Room room = findRoomById(request.roomId());
+        if (room == null) return "Unknown room " + request.roomId();
+        if (!isRoomAvailable(room, checkIn, checkOut)) return "Room " + room.getRoomId() + " is not available";
+        for (int i = 0; i < index; i++) {
+            BookingRequest other = requests.get(i);
+            if (room.getRoomId().equals(other.roomId()) && other.checkInDate() != null && other.checkOutDate() != null
+                    && !other.checkInDate().isAfter(checkOut) && !other.checkOutDate().isBefore(checkIn)) {
+                return "Overlaps request " + (i + 1) + " for the same room";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cancels a pending or confirmed reservation and frees its room. Returns null if the
+     * reservation is unknown or archived.
+     *
+     * @throws IllegalStateException if the guest has already checked in or the stay is final
+     */
+    public Reservation cancelReservation(String reservationId) {
+        Reservation reservation;
+        stateLock.readLock().lock();
+        try {
+            reservation = findLiveReservation(reservationId);
+            if (reservation == null) return null;
+
+            ReentrantLock roomLock = lockFor(reservation.getRoom());
+            roomLock.lock();
+            try {
+                ReservationStatus status = reservation.getStatus();
+                if (!status.canTransitionTo(ReservationStatus.CANCELLED)) {
+                    throw new IllegalStateException(reservationId + " is " + status + " and can't be cancelled");
+                }
+                logMutation(j -> j.appendCancel(reservationId));
+                applyTransition(reservation, ReservationStatus.CANCELLED);
+                events.publish(new ModelEvent.ReservationCancelled(reservation));
+            } finally {
+                roomLock.unlock();
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        compactIfNeeded();
+        return reservation;
+    }
+
+    // ==================== FRONT DESK ====================
+
+    /**
+     * Checks the guest in, on any day from check-in up to the day before check-out, once
+     * the room's previous guest has left. Returns null if the reservation is unknown or
+     * archived.
+     *
+     * @throws IllegalStateException if the reservation can't be checked in now
+     */
+    public Reservation checkIn(String reservationId) {
+        return changeStatus(reservationId, ReservationStatus.CHECKED_IN);
+    }
+
+    /** Checks the guest out, early or late, freeing any nights left. See {@link #checkIn} for the results. */
+    public Reservation checkOut(String reservationId) {
+        return changeStatus(reservationId, ReservationStatus.CHECKED_OUT);
+    }
+
+    /** Records that the guest never arrived, from the check-in date on, and frees the room. */
+    public Reservation markNoShow(String reservationId) {
+        return changeStatus(reservationId, ReservationStatus.NO_SHOW);
+    }
+
+    private Reservation changeStatus(String reservationId, ReservationStatus next) {
+        rollCalendarIfNeeded();
+        Reservation reservation;
+        stateLock.readLock().lock();
+        try {
+            reservation = findLiveReservation(reservationId);
+            if (reservation == null) return null;
+
+            ReentrantLock roomLock = lockFor(reservation.getRoom());
+            roomLock.lock();
+            try {
+                ReservationStatus previous = reservation.getStatus();
+                String error = validateStatusChange(reservation, next);
+                if (error != null) throw new IllegalStateException(error);
+                logMutation(j -> j.appendStatusChange(reservationId, next));
+                applyTransition(reservation, next);
+                events.publish(new ModelEvent.ReservationStatusChanged(reservation, previous, next));
+            } finally {
+                roomLock.unlock();
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        compactIfNeeded();
+        return reservation;
+    }
+
+    /** Returns why the reservation can't move to {@code next} today, or null. Caller holds the room's lock. */
+    private String validateStatusChange(Reservation reservation, ReservationStatus next) {
+        ReservationStatus status = reservation.getStatus();
+        String id = reservation.getReservationId();
+        if (!status.canTransitionTo(next)) return id + " is " + status + " and can't be marked " + next;
+        LocalDate today = availabilityIndex.today();
+        LocalDate checkIn = reservation.getCheckInDate();
+        if (next == ReservationStatus.CHECKED_IN) {
+            if (today.isBefore(checkIn)) return id + " can't check in before " + checkIn;
+            if (!today.isBefore(reservation.getCheckOutDate())) {
+                return id + " was due to check out on " + reservation.getCheckOutDate();
+            }
+            Reservation occupant = availabilityIndex.stayToday(reservation.getRoom().getRoomId());
+            if (occupant != null && occupant != reservation && occupant.getStatus() == ReservationStatus.CHECKED_IN) {
+                return "Room " + reservation.getRoom().getRoomId() + " is still occupied by " + occupant.getReservationId();
+            }
+        }
+        if (next == ReservationStatus.NO_SHOW && today.isBefore(checkIn)) return id + " isn't due until " + checkIn;
+        return null;
+    }
+
+    /** Adds a row for {@code booked} and returns the view that stands for it from now on. */
+    private Reservation applyBooking(Reservation booked) {
+        Reservation reservation = reservations.add(booked);
+        liveReservationsById.put(RecordCodec.numericId(reservation.getReservationId()), reservation);
+        liveReservationsByCustomer.computeIfAbsent(RecordCodec.numericId(reservation.getCustomer().getCustomerId()),
+                id -> new CopyOnWriteArrayList<>()).add(reservation);
+        availabilityIndex.add(reservation);
+        calendar.mark(reservation);
+        availabilityCache.invalidate(reservation);
+        stats.record(reservation.getRoom().getRoomType(), reservation.getTotalCost(), reservation.getStatus());
+        return reservation;
+    }
+
+    /** Caller holds the room's lock and has checked that the move is allowed. */
+    private void applyTransition(Reservation reservation, ReservationStatus next) {
+        ReservationStatus previous = reservation.getStatus();
+        reservation.setStatus(next);
+        stats.recordTransition(reservation.getRoom().getRoomType(), reservation.getTotalCost(), previous, next);
+        if (previous.holdsRoom() && !next.holdsRoom()) {
+            availabilityIndex.remove(reservation);
+            calendar.clear(reservation);
+            availabilityCache.invalidate(reservation);
+        } else {
+            availabilityIndex.refresh(reservation.getRoom().getRoomId());
         }
     }
 
     public List<Reservation> getAllReservations() {
-        return new ArrayList<>(reservations);
+        stateLock.readLock().lock();
+        try {
+            List<Reservation> all = new ArrayList<>(history.size() + reservations.size());
+            for (int i = 0; i < history.size(); i++) {
+                addIfResolved(all, i);
+            }
+            for (int row = 0, live = reservations.size(); row < live; row++) {
+                all.add(reservations.view(row));
+            }
+            return all;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    public int getReservationCount() {
+        stateLock.readLock().lock();
+        try {
+            return history.size() + reservations.size();
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /** One page of {@link #getAllReservations()}, building only the archived stays inside it. */
+    public List<Reservation> getReservations(int offset, int limit) {
+        if (offset < 0 || limit <= 0) return new ArrayList<>();
+        stateLock.readLock().lock();
+        try {
+            int archived = history.size();
+            List<Reservation> page = new ArrayList<>(Math.min(limit, 1024));
+            for (int i = offset; i < archived && page.size() < limit; i++) {
+                addIfResolved(page, i);
+            }
+            for (int row = Math.max(0, offset - archived), live = reservations.size();
+                 row < live && page.size() < limit; row++) {
+                page.add(reservations.view(row));
+            }
+            return page;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /** Months that have archived stays, by check-out month, oldest first. */
+    public List<YearMonth> getArchivedMonths() {
+        stateLock.readLock().lock();
+        try {
+            return history.months();
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /** Archived stays that checked out in {@code month}, reading only that month's segment. */
+    public List<Reservation> getArchivedReservations(YearMonth month) {
+        stateLock.readLock().lock();
+        try {
+            int[] range = history.range(month);
+            List<Reservation> archived = new ArrayList<>(range[1] - range[0]);
+            for (int i = range[0]; i < range[1]; i++) {
+                addIfResolved(archived, i);
+            }
+            return archived;
+        } finally {
+            stateLock.readLock().unlock();
+        }
     }
 
     public List<Reservation> getReservationsByCustomer(String customerId) {
-        return reservations.stream()
-                .filter(r -> r.getCustomer().getCustomerId().equals(customerId))
-                .collect(Collectors.toList());
+        return getReservationsByCustomer(customerId, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns up to {@code limit} of the customer's reservations starting at {@code offset},
+     * archived stays first, without building the ones outside the page.
+     */
+    public List<Reservation> getReservationsByCustomer(String customerId, int offset, int limit) {
+        int id = RecordCodec.parseId(customerId, Customer.ID_PREFIX);
+        if (id < 0 || offset < 0 || limit <= 0) return new ArrayList<>();
+        stateLock.readLock().lock();
+        try {
+            int[] archived = history.indexesForCustomer(id);
+            List<Reservation> live = liveReservationsByCustomer.get(id);
+            int liveCount = live == null ? 0 : live.size();
+            List<Reservation> page = new ArrayList<>(Math.min(limit, archived.length + liveCount));
+            for (int i = offset; i < archived.length && page.size() < limit; i++) {
+                addIfResolved(page, archived[i]);
+            }
+            for (int i = Math.max(0, offset - archived.length); i < liveCount && page.size() < limit; i++) {
+                page.add(live.get(i));
+            }
+            return page;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    public int countReservationsByCustomer(String customerId) {
+        int id = RecordCodec.parseId(customerId, Customer.ID_PREFIX);
+        if (id < 0) return 0;
+        stateLock.readLock().lock();
+        try {
+            List<Reservation> live = liveReservationsByCustomer.get(id);
+            return history.indexesForCustomer(id).length + (live == null ? 0 : live.size());
+        } finally {
+            stateLock.readLock().unlock();
+        }
     }
 
     public Reservation findReservationById(String reservationId) {
-        return reservations.stream()
-                .filter(r -> r.getReservationId().equals(reservationId))
-                .findFirst()
-                .orElse(null);
+        stateLock.readLock().lock();
+        try {
+            Reservation live = findLiveReservation(reservationId);
+            if (live != null) return live;
+            int id = RecordCodec.parseId(reservationId, Reservation.ID_PREFIX);
+            if (id < 0) return null;
+            int index = history.indexOf(id);
+            return index < 0 ? null : history.get(index, customersById::get, this::resolveRoom);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /** Reservations still on the heap; archived ones are read-only. */
+    private Reservation findLiveReservation(String reservationId) {
+        int id = RecordCodec.parseId(reservationId, Reservation.ID_PREFIX);
+        return id < 0 ? null : liveReservationsById.get(id);
+    }
+
+    private void addIfResolved(List<Reservation> target, int historyIndex) {
+        Reservation reservation = history.get(historyIndex, customersById::get, this::resolveRoom);
+        if (reservation != null) target.add(reservation);
     }
 
     // ==================== REPORTING ====================
 
+    /** O(1): served from aggregates that bookings and cancellations keep current. */
     public Map<String, Object> getBookingStats() {
-        long totalReservations = reservations.stream()
-                .filter(r -> r.getStatus().equals("Confirmed"))
-                .count();
+        stateLock.readLock().lock();
+        try {
+            countUncountedHistory();
+            return stats.toMap();
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Occupancy, ADR and RevPAR for every day, week or month of {@code from..to}
+     * (inclusive), overall and by room type, from confirmed live and archived stays.
+     * The scan is spread over the common fork-join pool, and archived months that
+     * closed before {@code from} are not read at all.
+     */
+    public RevenueReport getRevenueReport(LocalDate from, LocalDate to, RevenueReport.Granularity granularity) {
+        stateLock.readLock().lock();
+        try {
+            Set<String> roomTypes = new HashSet<>();
+            Map<String, Integer> roomCounts = new HashMap<>();
+            for (Room room : rooms) {
+                roomTypes.add(room.getRoomType());
+                roomCounts.merge(room.getRoomType(), 1, Integer::sum);
+            }
+            for (Room room : retiredRooms.values()) {
+                roomTypes.add(room.getRoomType());
+            }
+            RevenueAnalytics analytics = new RevenueAnalytics(from, to, roomTypes);
 
-        double totalRevenue = reservations.stream()
-                .filter(r -> r.getStatus().equals("Confirmed"))
-                .mapToDouble(Reservation::getTotalCost)
-                .sum();
+            ReservationTable live = reservations;
+            int liveCount = live.size();
+            long lastDay = to.toEpochDay();
+            int firstArchived = history.firstIndexFrom(ReservationHistory.monthOf(from.toEpochDay()));
+            int archived = history.size() - firstArchived;
+            RevenueAnalytics.Nights nights = analytics.scan(liveCount + archived, (target, i) -> {
+                if (i < liveCount) {
+                    if (!live.status(i).isBooked()) return;
+                    target.add(analytics.typeIndex(live.room(i).getRoomType()), live.checkInDay(i),
+                            live.checkOutDay(i), live.costPaise(i));
+                    return;
+                }
+                int index = firstArchived + i - liveCount;
+                if (!ReservationStatus.fromCode(history.status(index)).isBooked()
+                        || history.checkInDay(index) > lastDay) return;
+                Room room = resolveRoom(history.roomId(index));
+                if (room == null) return;
+                target.add(analytics.typeIndex(room.getRoomType()), history.checkInDay(index),
+                        history.checkOutDay(index), BookingStatistics.toPaise(history.totalCost(index)));
+            });
+            return analytics.report(nights, roomCounts, granularity);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
 
-        long cancelledCount = reservations.stream()
-                .filter(r -> r.getStatus().equals("Cancelled"))
-                .count();
+    /**
+     * Recomputes the statistics from every live and archived reservation and compares
+     * them with the running aggregates. On a mismatch the aggregates are replaced with
+     * the recomputed values. Returns whether they already agreed.
+     */
+    public boolean verifyBookingStats() {
+        stateLock.writeLock().lock();
+        try {
+            countUncountedHistory();
+            BookingStatistics recomputed = new BookingStatistics();
+            for (int i = 0; i < history.size(); i++) {
+                countHistoryRecord(recomputed, i);
+            }
+            countLiveReservations(recomputed);
+            if (stats.matches(recomputed)) return true;
+            stats.copyFrom(recomputed);
+            return false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
 
-        Map<String, Long> roomTypeBookings = reservations.stream()
-                .filter(r -> r.getStatus().equals("Confirmed"))
-                .collect(Collectors.groupingBy(
-                    r -> r.getRoom().getRoomType(),
-                    Collectors.counting()
-                ));
+    /**
+     * Archived stays present at load time, month to count, are added to the aggregates
+     * on first use, keeping startup independent of history size. Later archivals append
+     * reservations that are already counted after them.
+     */
+    private void countUncountedHistory() {
+        synchronized (stats) {
+            uncountedHistory.forEach((month, count) -> {
+                int first = history.range(ReservationHistory.yearMonth(month))[0];
+                for (int i = first; i < first + count; i++) {
+                    countHistoryRecord(stats, i);
+                }
+            });
+            uncountedHistory = new TreeMap<>();
+        }
+    }
 
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalReservations", totalReservations);
-        stats.put("totalRevenue", totalRevenue);
-        stats.put("cancelledCount", cancelledCount);
-        stats.put("roomTypeBookings", roomTypeBookings);
+    private void countLiveReservations(BookingStatistics target) {
+        for (int row = 0, live = reservations.size(); row < live; row++) {
+            target.record(reservations.room(row).getRoomType(), reservations.totalCost(row),
+                    reservations.status(row));
+        }
+    }
 
-        return stats;
+    private void countHistoryRecord(BookingStatistics target, int index) {
+        Room room = resolveRoom(history.roomId(index));
+        target.record(room == null ? null : room.getRoomType(), history.totalCost(index),
+                ReservationStatus.fromCode(history.status(index)));
     }
 
     // ==================== FILE OPERATIONS ====================
 
-    public void saveRooms() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(ROOMS_FILE))) {
-            oos.writeObject(rooms);
-        } catch (IOException e) {
-            e.printStackTrace();
+    public void saveRooms() throws IOException {
+        stateLock.writeLock().lock();
+        try {
+            writeSnapshot(ROOMS_FILE, out -> RecordCodec.writeRooms(out, rooms, retiredRooms.values()));
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    public void saveCustomers() throws IOException {
+        stateLock.writeLock().lock();
+        try {
+            writeSnapshot(CUSTOMERS_FILE, out -> RecordCodec.writeCustomers(out, customers));
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves cancelled and checked-out stays into the mapped history file and snapshots
+     * the rest. The history is appended first so a crash in between loses nothing.
+     */
+    public void saveReservations() throws IOException {
+        stateLock.writeLock().lock();
+        try {
+            archiveAndSaveReservations();
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    private void archiveAndSaveReservations() throws IOException {
+        long today = LocalDate.now().toEpochDay();
+        ReservationTable current = reservations;
+        // A guest still checked in stays live past their check-out date until they leave.
+        IntPredicate isLive = row -> {
+            ReservationStatus status = current.status(row);
+            return status == ReservationStatus.CHECKED_IN || !status.isFinal() && current.checkOutDay(row) >= today;
+        };
+        List<Reservation> closed = new ArrayList<>();
+        for (int row = 0; row < current.size(); row++) {
+            if (!isLive.test(row)) closed.add(current.view(row));
+        }
+        history.append(closed);
+        reservations = current.filter(isLive);
+        rebuildLiveIndexes();
+        if (!closed.isEmpty()) {
+            // Rebuilt from the remaining rows so the calendar matches what a restart would load.
+            calendar.rebuild(reservations, calendar.originDay());
+            events.publish(new ModelEvent.ReservationsArchived());
         }
+        ReservationTable snapshot = reservations;
+        NavigableMap<Integer, Integer> historyCounts = history.counts();
+        writeSnapshot(RESERVATIONS_FILE,
+                out -> RecordCodec.writeReservations(out, snapshot, historyCounts));
     }
 
-    public void saveCustomers() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(CUSTOMERS_FILE))) {
-            oos.writeObject(customers);
+    /**
+     * Writes a full snapshot and truncates the journal it supersedes. If any snapshot
+     * file can't be written the journal is kept, so nothing since the last good
+     * snapshot is lost.
+     */
+    public void saveAll() {
+        stateLock.writeLock().lock();
+        try {
+            saveRooms();
+            saveCustomers();
+            saveReservations();
+            if (journal != null) {
+                journal.reset();
+            }
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    public void loadAllData() {
+        stateLock.writeLock().lock();
+        try {
+            LegacyDataMigrator.migrateIfNeeded(new File(dataDir, ROOMS_FILE),
+                    new File(dataDir, CUSTOMERS_FILE), new File(dataDir, RESERVATIONS_FILE));
+            loadRooms();
+            loadCustomers();
+            loadReservations();
+            calendar.rebuild(reservations, LocalDate.now().toEpochDay());
+            rebuildLiveIndexes();
+            synchronized (stats) {
+                stats.reset();
+                countLiveReservations(stats);
+                uncountedHistory = history.counts();
+            }
+            replayJournal();
+            seedIdSequences();
+            roomsChanged();
+            events.publish(new ModelEvent.DataReloaded());
+        } finally {
+            stateLock.writeLock().unlock();
         }
     }
 
-    public void saveReservations() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(RESERVATIONS_FILE))) {
-            oos.writeObject(reservations);
+    public void close() {
+        dayRollover.shutdownNow();
+        saveAll();
+        ids.checkpoint();
+        try {
+            if (journal != null) journal.close();
+            history.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
-    public void saveAll() {
-        saveRooms();
-        saveCustomers();
-        saveReservations();
+    /**
+     * Keeps the ID sequences ahead of everything loaded. Archived IDs are only scanned
+     * when there is no sequence file yet, e.g. right after migrating legacy data.
+     */
+    private void seedIdSequences() {
+        boolean persisted = ids.load();
+        rooms.forEach(r -> ids.rooms.skipPast(RecordCodec.numericId(r.getRoomId())));
+        retiredRooms.keySet().forEach(id -> ids.rooms.skipPast(RecordCodec.numericId(id)));
+        customers.forEach(c -> ids.customers.skipPast(RecordCodec.numericId(c.getCustomerId())));
+        for (int row = 0; row < reservations.size(); row++) {
+            ids.reservations.skipPast(reservations.reservationId(row));
+        }
+        if (!persisted) {
+            for (int i = 0; i < history.size(); i++) {
+                ids.reservations.skipPast(history.reservationId(i));
+            }
+        }
     }
 
-    public void loadAllData() {
-        loadRooms();
-        loadCustomers();
-        loadReservations();
+    /** Indexes one view per live row, so every index hands out the same object for a stay. */
+    private void rebuildLiveIndexes() {
+        liveReservationsById.clear();
+        liveReservationsByCustomer.clear();
+        availabilityIndex.clear(LocalDate.ofEpochDay(calendar.originDay()));
+        for (int row = 0; row < reservations.size(); row++) {
+            Reservation reservation = reservations.view(row);
+            liveReservationsById.put(reservations.reservationId(row), reservation);
+            liveReservationsByCustomer.computeIfAbsent(reservations.customerId(row),
+                    id -> new CopyOnWriteArrayList<>()).add(reservation);
+            if (reservations.status(row).holdsRoom()) availabilityIndex.add(reservation);
+        }
+    }
+
+    private ReservationTable newReservationTable(int capacity) {
+        return new ReservationTable(customersById::get, this::resolveRoom, capacity);
+    }
+
+    private void writeSnapshot(String fileName, RecordCodec.Writer writer) throws IOException {
+        RecordCodec.writeFileAtomically(new File(dataDir, fileName), writer);
     }
 
-    @SuppressWarnings("unchecked")
     private void loadRooms() {
-        File file = new File(ROOMS_FILE);
+        File file = new File(dataDir, ROOMS_FILE);
         if (!file.exists()) return;
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(ROOMS_FILE))) {
-            rooms = (List<Room>) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            rooms = new ArrayList<>();
+        try (DataInputStream in = RecordCodec.openFile(file)) {
+            int count = RecordCodec.readHeader(in, RecordCodec.ROOMS).count;
+            List<Room> loaded = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                loaded.add(RecordCodec.readRoom(in));
+            }
+            int retired = in.readInt();
+            retiredRooms.clear();
+            for (int i = 0; i < retired; i++) {
+                Room room = RecordCodec.readRoom(in);
+                retiredRooms.put(room.getRoomId(), room);
+            }
+            rooms = new CopyOnWriteArrayList<>(loaded);
+        } catch (IOException e) {
+            rooms = new CopyOnWriteArrayList<>();
         }
+        roomsById.clear();
+        rooms.forEach(r -> roomsById.put(RecordCodec.numericId(r.getRoomId()), r));
     }
 
-    @SuppressWarnings("unchecked")
     private void loadCustomers() {
-        File file = new File(CUSTOMERS_FILE);
+        File file = new File(dataDir, CUSTOMERS_FILE);
         if (!file.exists()) return;
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(CUSTOMERS_FILE))) {
-            customers = (List<Customer>) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            customers = new ArrayList<>();
+        try (DataInputStream in = RecordCodec.openFile(file)) {
+            int count = RecordCodec.readHeader(in, RecordCodec.CUSTOMERS).count;
+            List<Customer> loaded = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                loaded.add(RecordCodec.readCustomer(in));
+            }
+            customers = new CopyOnWriteArrayList<>(loaded);
+        } catch (IOException e) {
+            customers = new CopyOnWriteArrayList<>();
+        }
+        customersById.clear();
+        customersByEmail.clear();
+        for (Customer customer : customers) {
+            customersById.put(RecordCodec.numericId(customer.getCustomerId()), customer);
+            customersByEmail.putIfAbsent(customer.getEmail(), customer);
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void loadReservations() {
-        File file = new File(RESERVATIONS_FILE);
-        if (!file.exists()) return;
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(RESERVATIONS_FILE))) {
-            reservations = (List<Reservation>) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            reservations = new ArrayList<>();
+        File file = new File(dataDir, RESERVATIONS_FILE);
+        NavigableMap<Integer, Integer> historyCounts = new TreeMap<>();
+        int legacyHistoryCount = -1;
+        if (file.exists()) {
+            try (DataInputStream in = RecordCodec.openFile(file)) {
+                RecordCodec.Header header = RecordCodec.readHeader(in, RecordCodec.RESERVATIONS);
+                if (header.version >= 3) {
+                    historyCounts = RecordCodec.readHistoryCounts(in);
+                } else {
+                    legacyHistoryCount = header.version == 2 ? in.readInt() : 0;
+                }
+                ReservationTable loaded = newReservationTable(header.count);
+                for (int i = 0; i < header.count; i++) {
+                    Reservation reservation = RecordCodec.readReservation(in, customersById::get, this::resolveRoom);
+                    if (reservation != null) loaded.add(reservation);
+                }
+                reservations = loaded;
+            } catch (IOException e) {
+                reservations = newReservationTable(0);
+            }
+        }
+        File legacyHistory = new File(dataDir, LEGACY_HISTORY_FILE);
+        try {
+            if (legacyHistoryCount >= 0 && legacyHistory.exists()) {
+                // Split the old history by month and commit the counts before dropping it.
+                NavigableMap<Integer, Integer> counts = history.migrate(legacyHistory, legacyHistoryCount);
+                ReservationTable snapshot = reservations;
+                RecordCodec.writeFileAtomically(file, out -> RecordCodec.writeReservations(out, snapshot, counts));
+            } else {
+                history.open(historyCounts);
+            }
+            if (legacyHistory.exists() && !legacyHistory.delete()) {
+                System.err.println("Could not delete " + legacyHistory);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // ==================== JOURNAL ====================
+
+    private void openJournal() {
+        try {
+            journal = new ReservationJournal(new File(dataDir, JOURNAL_FILE));
+        } catch (IOException e) {
+            // Without a journal every mutation falls back to a full snapshot.
+            e.printStackTrace();
         }
     }
 
+    /**
+     * Called with the state lock held, before the change is applied: if the record can't
+     * be written the {@link UncheckedIOException} refuses the change. Snapshotting
+     * is deferred to {@link #compactIfNeeded()}.
+     */
+    private void logMutation(Consumer<ReservationJournal> record) {
+        if (journal != null) {
+            record.accept(journal);
+        }
+    }
+
+    /** Called after releasing the state lock, since the read lock cannot be upgraded. */
+    private void compactIfNeeded() {
+        // Inside runBatch: the batch's records are not journaled yet, so a snapshot now
+        // would be followed by a replay of changes it already contains.
+        if (stateLock.isWriteLockedByCurrentThread()) return;
+        if (journal == null || journal.recordCount() >= COMPACTION_THRESHOLD) {
+            saveAll();
+        }
+    }
+
+    /**
+     * Runs {@code work} with the state lock held exclusively and journals every change it
+     * makes through the public methods as one record, which replay applies whole or not
+     * at all. Nothing else can interleave, so journal order still matches publication order.
+     * If the batch can't be written, the model reloads what is on disk, discarding the
+     * batch's changes, and the {@link UncheckedIOException} is rethrown.
+     */
+    void runBatch(Runnable work) {
+        stateLock.writeLock().lock();
+        try {
+            if (journal != null) journal.beginBatch();
+            try {
+                work.run();
+            } finally {
+                if (journal != null) commitBatchOrReload();
+            }
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        compactIfNeeded();
+    }
+
+    private void commitBatchOrReload() {
+        try {
+            journal.commitBatch();
+        } catch (UncheckedIOException e) {
+            loadAllData();
+            throw e;
+        }
+    }
+
+    private void replayJournal() {
+        if (journal == null) return;
+        try {
+            journal.replay(new ReservationJournal.Handler() {
+                @Override
+                public void addRoom(Room room) {
+                    if (findRoomById(room.getRoomId()) == null) {
+                        rooms.add(room);
+                        roomsById.put(RecordCodec.numericId(room.getRoomId()), room);
+                    }
+                }
+
+                @Override
+                public void removeRoom(String roomId) {
+                    Room room = findRoomById(roomId);
+                    if (room != null) {
+                        rooms.remove(room);
+                        roomsById.remove(RecordCodec.numericId(roomId));
+                        retiredRooms.put(roomId, room);
+                    }
+                }
+
+                @Override
+                public void addCustomer(Customer customer) {
+                    if (findCustomerById(customer.getCustomerId()) == null) indexCustomer(customer);
+                }
+
+                @Override
+                public void book(String reservationId, String customerId, String roomId,
+                                 LocalDate checkIn, LocalDate checkOut, double totalCost) {
+                    if (findLiveReservation(reservationId) != null || isArchived(reservationId)) return;
+                    Customer customer = findCustomerById(customerId);
+                    Room room = findRoomById(roomId);
+                    if (customer == null || room == null) return;
+                    applyBooking(new Reservation(reservationId, customer, room,
+                            checkIn, checkOut, totalCost, ReservationStatus.CONFIRMED));
+                }
+
+                @Override
+                public void cancel(String reservationId) {
+                    if (isArchived(reservationId)) return;
+                    Reservation reservation = findLiveReservation(reservationId);
+                    if (reservation != null && reservation.getStatus().canTransitionTo(ReservationStatus.CANCELLED)) {
+                        applyTransition(reservation, ReservationStatus.CANCELLED);
+                    }
+                }
+
+                @Override
+                public void changeStatus(String reservationId, ReservationStatus status) {
+                    if (isArchived(reservationId)) return;
+                    Reservation reservation = findLiveReservation(reservationId);
+                    if (reservation != null && reservation.getStatus().canTransitionTo(status)) {
+                        applyTransition(reservation, status);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Whether the stay is already in the history. A crash between writing the snapshot
+     * and truncating the journal leaves records for stays the snapshot archived.
+     */
+    private boolean isArchived(String reservationId) {
+        int id = RecordCodec.parseId(reservationId, Reservation.ID_PREFIX);
+        return id >= 0 && history.indexOf(id) >= 0;
+    }
+
     private void initializeSampleRooms() {
         addRoom("Single", 1500, 1);
         addRoom("Double", 2500, 2);
@@ -0,0 +1,58 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Headless entry point: opens the model and its storage and serves the HTTP API,
+ * without loading AWT or Swing. Prints how long the model took to open and how long
+ * the process took to become ready, counted from JVM launch. {@code --boot-only}
+ * exits once the model is open, which is handy for timing cold starts from a script.
+ *
+ * Usage: HotelServer [--data dir] [--port 8080] [--boot-only]
+ */
+public final class HotelServer {
+
+    private HotelServer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File dataDir = new File(".");
+        int port = HotelApiServer.DEFAULT_PORT;
+        boolean bootOnly = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--data" -> dataDir = new File(args[++i]);
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--boot-only" -> bootOnly = true;
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        HotelReservationModel model = new HotelReservationModel(dataDir);
+        long modelMillis = (System.nanoTime() - start) / 1_000_000;
+        if (bootOnly) {
+            model.close();
+            printStartup(modelMillis, "Model ready");
+            return;
+        }
+
+        HotelApiServer api = new HotelApiServer(model, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            api.stop();
+            model.close();
+        }));
+        api.start();
+        printStartup(modelMillis, "Listening on http://localhost:" + api.port() + "/api/");
+    }
+
+    private static void printStartup(long modelMillis, String status) {
+        System.out.printf("%s: model and storage opened in %d ms, %d ms since JVM launch%n",
+                status, modelMillis, ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
@@ -0,0 +1,121 @@
+package com.dynamix.hotelreservation;
+
+import java.io.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out room, customer and reservation IDs that stay unique across restarts.
+ * Each sequence reserves a block of numbers and persists the end of the block
+ * before using any of it, so allocation only touches the disk once per block. If
+ * the block can't be persisted no ID from it is handed out.
+ * After a crash numbering resumes after the last reserved block; a clean
+ * {@link #checkpoint()} releases the unused part of each block.
+ */
+final class IdAllocator {
+    static final int BLOCK_SIZE = 256;
+
+    final Sequence rooms = new Sequence(Room.ID_PREFIX);
+    final Sequence customers = new Sequence(Customer.ID_PREFIX);
+    final Sequence reservations = new Sequence(Reservation.ID_PREFIX);
+    private final File file;
+
+    final class Sequence {
+        private final String prefix;
+        private final AtomicInteger next = new AtomicInteger(1);
+        private volatile int reservedLimit = 1;
+
+        private Sequence(String prefix) {
+            this.prefix = prefix;
+        }
+
+        /** @throws UncheckedIOException if a new block was needed and couldn't be persisted */
+        String nextId() {
+            int id = next.getAndIncrement();
+            if (id >= reservedLimit) {
+                reserveThrough(id);
+            }
+            return prefix + id;
+        }
+
+        /** Makes sure IDs up to and including {@code used} are never handed out again. */
+        void skipPast(int used) {
+            next.accumulateAndGet(used + 1, Math::max);
+        }
+
+        private void reserveThrough(int id) {
+            synchronized (IdAllocator.this) {
+                if (id < reservedLimit) return;
+                int[] limits = limits();
+                limits[index()] = id + BLOCK_SIZE;
+                try {
+                    persist(limits);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Couldn't reserve " + prefix + " IDs in " + file, e);
+                }
+                // Raised only once the new limit is on disk.
+                reservedLimit = limits[index()];
+            }
+        }
+
+        private int index() {
+            return this == rooms ? 0 : this == customers ? 1 : 2;
+        }
+    }
+
+    IdAllocator(File file) {
+        this.file = file;
+    }
+
+    /** Returns false when no sequence file exists yet and callers must seed from the data. */
+    synchronized boolean load() {
+        if (!file.exists()) return false;
+        try (DataInputStream in = RecordCodec.openFile(file)) {
+            RecordCodec.readHeader(in, RecordCodec.SEQUENCES);
+            for (Sequence sequence : new Sequence[]{rooms, customers, reservations}) {
+                int limit = in.readInt();
+                // Anything below a persisted limit may already be in use.
+                sequence.skipPast(limit - 1);
+                sequence.reservedLimit = sequence.next.get();
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * On clean shutdown, gives back the unused rest of each block so numbering stays dense.
+     * If that can't be written the larger limits on disk still cover every ID handed out.
+     */
+    synchronized void checkpoint() {
+        Sequence[] sequences = {rooms, customers, reservations};
+        int[] limits = new int[sequences.length];
+        for (int i = 0; i < sequences.length; i++) {
+            limits[i] = sequences[i].next.get();
+        }
+        try {
+            persist(limits);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i].reservedLimit = limits[i];
+        }
+    }
+
+    private int[] limits() {
+        return new int[]{rooms.reservedLimit, customers.reservedLimit, reservations.reservedLimit};
+    }
+
+    /** Writes the limits of rooms, customers and reservations, in that order. */
+    private void persist(int[] limits) throws IOException {
+        RecordCodec.writeFileAtomically(file, out -> {
+            RecordCodec.writeHeader(out, RecordCodec.SEQUENCES, limits.length);
+            for (int limit : limits) {
+                out.writeInt(limit);
+            }
+        });
+    }
+}
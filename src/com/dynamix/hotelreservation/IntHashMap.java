@@ -0,0 +1,170 @@
+package com.dynamix.hotelreservation;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntFunction;
+
+/**
+ * Open-addressing hash map from primitive int keys to values, used for the ID
+ * indexes so lookups neither box keys nor walk lists. Reads are optimistic and
+ * only fall back to a read lock if a writer interfered; writes are serialized.
+ */
+final class IntHashMap<V> {
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private static final class Table {
+        final int[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+            Arrays.fill(keys, FREE);
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private volatile Table table = new Table(16);
+    private int size;
+
+    V get(int key) {
+        long stamp = lock.tryOptimisticRead();
+        V value = find(table, key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                value = find(table, key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V find(Table t, int key) {
+        int mask = t.keys.length - 1;
+        for (int i = slot(key, mask), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            int k = t.keys[i];
+            if (k == key) return (V) t.values[i];
+            if (k == FREE) return null;
+        }
+        return null;
+    }
+
+    V put(int key, V value) {
+        if (key == FREE) throw new IllegalArgumentException("Reserved key " + key);
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 2 > table.keys.length) {
+                resize(table.keys.length * 2);
+            }
+            return insert(table, key, value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    V computeIfAbsent(int key, IntFunction<? extends V> factory) {
+        V existing = get(key);
+        if (existing != null) return existing;
+        long stamp = lock.writeLock();
+        try {
+            existing = find(table, key);
+            if (existing != null) return existing;
+            if ((size + 1) * 2 > table.keys.length) {
+                resize(table.keys.length * 2);
+            }
+            V created = factory.apply(key);
+            insert(table, key, created);
+            return created;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V insert(Table t, int key, V value) {
+        int mask = t.keys.length - 1;
+        int i = slot(key, mask);
+        while (t.keys[i] != FREE) {
+            if (t.keys[i] == key) {
+                V old = (V) t.values[i];
+                t.values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        t.values[i] = value;
+        t.keys[i] = key;
+        size++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            int mask = t.keys.length - 1;
+            int i = slot(key, mask);
+            while (t.keys[i] != key) {
+                if (t.keys[i] == FREE) return null;
+                i = (i + 1) & mask;
+            }
+            V old = (V) t.values[i];
+            // Backward-shift deletion keeps probe chains intact without tombstones.
+            int gap = i;
+            for (int j = (gap + 1) & mask; t.keys[j] != FREE; j = (j + 1) & mask) {
+                int home = slot(t.keys[j], mask);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    t.keys[gap] = t.keys[j];
+                    t.values[gap] = t.values[j];
+                    gap = j;
+                }
+            }
+            t.keys[gap] = FREE;
+            t.values[gap] = null;
+            size--;
+            return old;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void clear() {
+        long stamp = lock.writeLock();
+        try {
+            table = new Table(16);
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        Table grown = new Table(capacity);
+        Table old = table;
+        int count = size;
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.keys[i] != FREE) insert(grown, old.keys[i], (V) old.values[i]);
+        }
+        size = count;
+        table = grown;
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,274 @@
+package com.dynamix.hotelreservation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.*;
+
+/**
+ * Just enough JSON for exports and the HTTP API: a writer for maps, lists, strings,
+ * numbers and booleans, and a pull parser that can walk a large top-level array one
+ * element at a time. Objects parse to LinkedHashMaps, whole numbers to Long and
+ * other numbers to Double.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    // ==================== WRITING ====================
+
+    static String toJson(Object value) {
+        StringBuilder out = new StringBuilder();
+        try {
+            write(out, value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    static void write(Appendable out, Object value) throws IOException {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String text) {
+            quote(out, text);
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            out.append(Double.isFinite(number) ? Double.toString(number) : "null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) out.append(',');
+                first = false;
+                quote(out, String.valueOf(entry.getKey()));
+                out.append(':');
+                write(out, entry.getValue());
+            }
+            out.append('}');
+        } else if (value instanceof Iterable<?> items) {
+            out.append('[');
+            boolean first = true;
+            for (Object item : items) {
+                if (!first) out.append(',');
+                first = false;
+                write(out, item);
+            }
+            out.append(']');
+        } else {
+            quote(out, value.toString());
+        }
+    }
+
+    static void quote(Appendable out, String text) throws IOException {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    // ==================== PARSING ====================
+
+    static Object parse(String text) throws IOException {
+        Parser parser = new Parser(new StringReader(text));
+        Object value = parser.readValue();
+        parser.expectEnd();
+        return value;
+    }
+
+    static final class Parser {
+        private final Reader in;
+        private int peeked = -2;
+        private long position;
+        private boolean firstElement;
+
+        Parser(Reader in) {
+            this.in = in;
+        }
+
+        /** Starts streaming a top-level array; follow with {@link #hasNext()} / {@link #readValue()}. */
+        void beginArray() throws IOException {
+            expect('[');
+            firstElement = true;
+        }
+
+        boolean hasNext() throws IOException {
+            if (peekNonSpace() == ']') {
+                read();
+                return false;
+            }
+            if (!firstElement) expect(',');
+            firstElement = false;
+            return true;
+        }
+
+        void expectEnd() throws IOException {
+            if (peekNonSpace() != -1) throw error("Unexpected trailing content");
+        }
+
+        Object readValue() throws IOException {
+            int c = peekNonSpace();
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    readLiteral("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    readLiteral("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    readLiteral("null");
+                    return null;
+                default:
+                    if (c == '-' || (c >= '0' && c <= '9')) return readNumber();
+                    throw error(c == -1 ? "Unexpected end of input" : "Unexpected character '" + (char) c + "'");
+            }
+        }
+
+        private Map<String, Object> readObject() throws IOException {
+            expect('{');
+            Map<String, Object> object = new LinkedHashMap<>();
+            if (peekNonSpace() == '}') {
+                read();
+                return object;
+            }
+            while (true) {
+                if (peekNonSpace() != '"') throw error("Expected a member name");
+                String key = readString();
+                expect(':');
+                object.put(key, readValue());
+                int c = peekNonSpace();
+                read();
+                if (c == '}') return object;
+                if (c != ',') throw error("Expected ',' or '}'");
+            }
+        }
+
+        private List<Object> readArray() throws IOException {
+            expect('[');
+            List<Object> array = new ArrayList<>();
+            if (peekNonSpace() == ']') {
+                read();
+                return array;
+            }
+            while (true) {
+                array.add(readValue());
+                int c = peekNonSpace();
+                read();
+                if (c == ']') return array;
+                if (c != ',') throw error("Expected ',' or ']'");
+            }
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            StringBuilder text = new StringBuilder();
+            while (true) {
+                int c = read();
+                if (c == -1) throw error("Unterminated string");
+                if (c == '"') return text.toString();
+                if (c != '\\') {
+                    text.append((char) c);
+                    continue;
+                }
+                int escaped = read();
+                switch (escaped) {
+                    case '"', '\\', '/' -> text.append((char) escaped);
+                    case 'b' -> text.append('\b');
+                    case 'f' -> text.append('\f');
+                    case 'n' -> text.append('\n');
+                    case 'r' -> text.append('\r');
+                    case 't' -> text.append('\t');
+                    case 'u' -> {
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(read(), 16);
+                            if (digit < 0) throw error("Bad unicode escape");
+                            code = code * 16 + digit;
+                        }
+                        text.append((char) code);
+                    }
+                    default -> throw error("Bad escape");
+                }
+            }
+        }
+
+        private Number readNumber() throws IOException {
+            StringBuilder digits = new StringBuilder();
+            boolean decimal = false;
+            for (int c = peek(); c != -1 && "+-0123456789.eE".indexOf(c) >= 0; c = peek()) {
+                if (c == '.' || c == 'e' || c == 'E') decimal = true;
+                digits.append((char) read());
+            }
+            try {
+                if (!decimal) {
+                    try {
+                        return Long.parseLong(digits.toString());
+                    } catch (NumberFormatException tooLong) {
+                        // Falls through to a double.
+                    }
+                }
+                return Double.parseDouble(digits.toString());
+            } catch (NumberFormatException e) {
+                throw error("Bad number " + digits);
+            }
+        }
+
+        private void readLiteral(String literal) throws IOException {
+            for (int i = 0; i < literal.length(); i++) {
+                if (read() != literal.charAt(i)) throw error("Expected " + literal);
+            }
+        }
+
+        private void expect(char expected) throws IOException {
+            if (peekNonSpace() != expected) throw error("Expected '" + expected + "'");
+            read();
+        }
+
+        private int peekNonSpace() throws IOException {
+            while (peek() == ' ' || peek() == '\t' || peek() == '\n' || peek() == '\r') {
+                read();
+            }
+            return peek();
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) peeked = in.read();
+            return peeked;
+        }
+
+        private int read() throws IOException {
+            int c = peek();
+            peeked = -2;
+            position++;
+            return c;
+        }
+
+        private IOException error(String message) {
+            return new IOException("Malformed JSON at offset " + position + ": " + message);
+        }
+    }
+}
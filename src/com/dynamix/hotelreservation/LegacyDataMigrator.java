@@ -0,0 +1,71 @@
+package com.dynamix.hotelreservation;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * One-time conversion of Java-serialized .dat files into the {@link RecordCodec} format.
+ * The original files are kept next to the new ones with a ".legacy" suffix.
+ */
+final class LegacyDataMigrator {
+    private LegacyDataMigrator() {
+    }
+
+    static void migrateIfNeeded(File roomsFile, File customersFile, File reservationsFile) {
+        boolean legacyRooms = RecordCodec.isLegacyFile(roomsFile);
+        boolean legacyCustomers = RecordCodec.isLegacyFile(customersFile);
+        boolean legacyReservations = RecordCodec.isLegacyFile(reservationsFile);
+        if (!legacyRooms && !legacyCustomers && !legacyReservations) return;
+
+        try {
+            List<Room> rooms = legacyRooms ? readList(roomsFile) : Collections.emptyList();
+            List<Customer> customers = legacyCustomers ? readList(customersFile) : Collections.emptyList();
+            List<Reservation> reservations = legacyReservations
+                    ? readList(reservationsFile) : Collections.emptyList();
+
+            if (legacyReservations) {
+                backup(reservationsFile);
+                RecordCodec.writeFileAtomically(reservationsFile,
+                        out -> RecordCodec.writeReservations(out, reservations, new TreeMap<>()));
+            }
+            if (legacyCustomers) {
+                // Serialized reservations carry their own customer copies; keep any the list lost.
+                Map<String, Customer> byId = new LinkedHashMap<>();
+                customers.forEach(c -> byId.put(c.getCustomerId(), c));
+                reservations.forEach(r -> byId.putIfAbsent(r.getCustomer().getCustomerId(), r.getCustomer()));
+                backup(customersFile);
+                RecordCodec.writeFileAtomically(customersFile,
+                        out -> RecordCodec.writeCustomers(out, byId.values()));
+            }
+            if (legacyRooms) {
+                Set<String> active = new HashSet<>();
+                rooms.forEach(r -> active.add(r.getRoomId()));
+                Map<String, Room> retired = new LinkedHashMap<>();
+                for (Reservation reservation : reservations) {
+                    Room room = reservation.getRoom();
+                    if (!active.contains(room.getRoomId())) retired.putIfAbsent(room.getRoomId(), room);
+                }
+                backup(roomsFile);
+                RecordCodec.writeFileAtomically(roomsFile,
+                        out -> RecordCodec.writeRooms(out, rooms, retired.values()));
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> readList(File file) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            return (List<T>) ois.readObject();
+        }
+    }
+
+    private static void backup(File file) throws IOException {
+        Files.copy(file.toPath(), new File(file.getPath() + ".legacy").toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+}
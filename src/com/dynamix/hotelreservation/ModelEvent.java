@@ -0,0 +1,42 @@
+package com.dynamix.hotelreservation;
+
+import java.time.LocalDate;
+
+/**
+ * A change to {@link HotelReservationModel}, delivered to {@link ModelListener}s.
+ */
+public sealed interface ModelEvent {
+
+    record RoomAdded(Room room) implements ModelEvent {
+    }
+
+    /** {@code index} is the position the room had in {@code getAllRooms()}. */
+    record RoomRemoved(Room room, int index) implements ModelEvent {
+    }
+
+    record CustomerAdded(Customer customer) implements ModelEvent {
+    }
+
+    record ReservationBooked(Reservation reservation) implements ModelEvent {
+    }
+
+    record ReservationCancelled(Reservation reservation) implements ModelEvent {
+    }
+
+    /** A check-in, check-out or no-show. */
+    record ReservationStatusChanged(Reservation reservation, ReservationStatus from, ReservationStatus to)
+            implements ModelEvent {
+    }
+
+    /** The date moved on, so what each room is doing today may have changed. */
+    record DayChanged(LocalDate today) implements ModelEvent {
+    }
+
+    /** Finished stays moved to the history file, so reservation positions have shifted. */
+    record ReservationsArchived() implements ModelEvent {
+    }
+
+    /** Everything was reloaded from disk; earlier events no longer describe the data. */
+    record DataReloaded() implements ModelEvent {
+    }
+}
@@ -0,0 +1,100 @@
+package com.dynamix.hotelreservation;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans model events out to listeners. Publishing only enqueues, so it is safe under
+ * the model's locks; each listener is drained on its own executor, one batch at a time.
+ */
+final class ModelEventBus {
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private static final class Subscription implements Runnable {
+        final ModelListener listener;
+        final Executor executor;
+        final Queue<ModelEvent> pending = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean active = true;
+
+        Subscription(ModelListener listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        void offer(ModelEvent event) {
+            pending.add(event);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public synchronized void run() {
+            // Cleared inside the monitor: a drain scheduled from here on waits for this one.
+            scheduled.set(false);
+            List<ModelEvent> batch = new ArrayList<>();
+            for (ModelEvent event; (event = pending.poll()) != null; ) {
+                batch.add(event);
+            }
+            if (batch.isEmpty() || !active) return;
+            try {
+                listener.modelChanged(coalesce(batch));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    void addListener(ModelListener listener, Executor executor) {
+        subscriptions.add(new Subscription(listener, executor));
+    }
+
+    void removeListener(ModelListener listener) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.listener == listener) {
+                subscription.active = false;
+                subscriptions.remove(subscription);
+            }
+        }
+    }
+
+    void publish(ModelEvent event) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Keeps the latest event per key at its latest position, so nothing published after
+     * an event that shifts row positions, such as ReservationsArchived, is delivered
+     * before it.
+     */
+    static List<ModelEvent> coalesce(List<ModelEvent> events) {
+        Map<Object, ModelEvent> latest = new LinkedHashMap<>();
+        for (ModelEvent event : events) {
+            if (event instanceof ModelEvent.DataReloaded) latest.clear();
+            Object key = key(event);
+            latest.remove(key);
+            latest.put(key, event);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private static Object key(ModelEvent event) {
+        return switch (event) {
+            case ModelEvent.RoomAdded e -> List.of(e.getClass(), e.room().getRoomId());
+            case ModelEvent.RoomRemoved e -> List.of(e.getClass(), e.room().getRoomId());
+            case ModelEvent.CustomerAdded e -> List.of(e.getClass(), e.customer().getCustomerId());
+            case ModelEvent.ReservationBooked e -> List.of(e.getClass(), e.reservation().getReservationId());
+            case ModelEvent.ReservationCancelled e -> List.of(e.getClass(), e.reservation().getReservationId());
+            case ModelEvent.ReservationStatusChanged e -> List.of(e.getClass(), e.reservation().getReservationId());
+            case ModelEvent.ReservationsArchived e -> e.getClass();
+            case ModelEvent.DayChanged e -> e.getClass();
+            case ModelEvent.DataReloaded e -> e.getClass();
+        };
+    }
+}
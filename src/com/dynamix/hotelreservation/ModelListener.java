@@ -0,0 +1,14 @@
+package com.dynamix.hotelreservation;
+
+import java.util.List;
+
+/**
+ * Receives model changes in batches, in the order they happened. Events that
+ * piled up while the listener was busy are coalesced: repeated events for the
+ * same entity collapse into the latest one, delivered at its position, and a
+ * {@link ModelEvent.DataReloaded} discards everything queued before it.
+ */
+@FunctionalInterface
+public interface ModelListener {
+    void modelChanged(List<ModelEvent> events);
+}
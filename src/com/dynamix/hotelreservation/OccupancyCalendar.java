@@ -0,0 +1,98 @@
+package com.dynamix.hotelreservation;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One bit per room per day over a rolling horizon starting at the day it was last
+ * rebuilt. A stay that holds its room sets the bits from its check-in through its check-out
+ * day inclusive, matching the rule that a stay conflicts with one starting on its
+ * check-out day; a range is free when every word it touches masks to zero.
+ * Like {@link RoomAvailabilityIndex}, writers for a room must hold that room's lock.
+ */
+final class OccupancyCalendar {
+    static final int HORIZON_DAYS = 2 * 366;
+    private static final int WORDS = (HORIZON_DAYS + 63) >>> 6;
+
+    private final Map<String, AtomicLongArray> daysByRoom = new ConcurrentHashMap<>();
+    private volatile long originDay;
+
+    long originDay() {
+        return originDay;
+    }
+
+    boolean covers(long firstDay, long lastDay) {
+        return firstDay >= originDay && lastDay < originDay + HORIZON_DAYS && firstDay <= lastDay;
+    }
+
+    void mark(Reservation reservation) {
+        update(reservation.getRoom().getRoomId(), reservation.getCheckInDate().toEpochDay(),
+                reservation.getCheckOutDate().toEpochDay(), true);
+    }
+
+    void clear(Reservation reservation) {
+        update(reservation.getRoom().getRoomId(), reservation.getCheckInDate().toEpochDay(),
+                reservation.getCheckOutDate().toEpochDay(), false);
+    }
+
+    private void update(String roomId, long checkInDay, long checkOutDay, boolean occupied) {
+        long first = Math.max(checkInDay, originDay);
+        long last = Math.min(checkOutDay, originDay + HORIZON_DAYS - 1);
+        if (first > last) return;
+        AtomicLongArray days = daysByRoom.computeIfAbsent(roomId, id -> new AtomicLongArray(WORDS));
+        int from = (int) (first - originDay);
+        int to = (int) (last - originDay);
+        for (int word = from >>> 6; word <= to >>> 6; word++) {
+            long mask = mask(word, from, to);
+            long bits = days.get(word);
+            days.set(word, occupied ? bits | mask : bits & ~mask);
+        }
+    }
+
+    /** Only meaningful when {@link #covers} holds for the range. */
+    boolean isFree(String roomId, long firstDay, long lastDay) {
+        AtomicLongArray days = daysByRoom.get(roomId);
+        if (days == null) return true;
+        int from = (int) (firstDay - originDay);
+        int to = (int) (lastDay - originDay);
+        for (int word = from >>> 6; word <= to >>> 6; word++) {
+            if ((days.get(word) & mask(word, from, to)) != 0) return false;
+        }
+        return true;
+    }
+
+    /** Bit i is set when the room is occupied on {@code firstDay + i}; days outside the horizon stay clear. */
+    BitSet occupancy(String roomId, long firstDay, int count) {
+        BitSet occupied = new BitSet(count);
+        AtomicLongArray days = daysByRoom.get(roomId);
+        if (days == null) return occupied;
+        for (int i = 0; i < count; i++) {
+            long offset = firstDay + i - originDay;
+            if (offset < 0 || offset >= HORIZON_DAYS) continue;
+            if ((days.get((int) (offset >>> 6)) & (1L << offset)) != 0) occupied.set(i);
+        }
+        return occupied;
+    }
+
+    /** Caller must exclude all writers. */
+    void rebuild(ReservationTable reservations, long today) {
+        daysByRoom.clear();
+        originDay = today;
+        for (int row = 0; row < reservations.size(); row++) {
+            if (reservations.status(row).holdsRoom()) {
+                update(reservations.room(row).getRoomId(), reservations.checkInDay(row),
+                        reservations.checkOutDay(row), true);
+            }
+        }
+    }
+
+    /** Bits of {@code word} that fall inside [from, to]. */
+    private static long mask(int word, int from, int to) {
+        long mask = -1L;
+        if (word == from >>> 6) mask &= -1L << (from & 63);
+        if (word == to >>> 6) mask &= -1L >>> (63 - (to & 63));
+        return mask;
+    }
+}
@@ -0,0 +1,260 @@
+package com.dynamix.hotelreservation;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * Versioned binary layout of the rooms, customers and reservations snapshot files.
+ * Every file starts with [magic][version][kind][count]. Entities are referenced by the
+ * numeric part of their IDs and dates are stored as epoch days, so a reservation is a
+ * fixed {@value #RESERVATION_RECORD_SIZE}-byte record.
+ */
+final class RecordCodec {
+    static final int MAGIC = 0x48525344; // "HRSD"
+    static final short VERSION = 3;
+    static final byte ROOMS = 1;
+    static final byte CUSTOMERS = 2;
+    static final byte RESERVATIONS = 3;
+    static final byte HISTORY = 4;
+    static final byte SEQUENCES = 5;
+    static final int HEADER_SIZE = 11;
+    static final int RESERVATION_RECORD_SIZE = 29;
+    static final int COUNT_OFFSET = 7;
+
+    // Field offsets inside a reservation record.
+    static final int RES_ID = 0;
+    static final int RES_CUSTOMER = 4;
+    static final int RES_ROOM = 8;
+    static final int RES_CHECK_IN = 12;
+    static final int RES_CHECK_OUT = 16;
+    static final int RES_TOTAL_COST = 20;
+    static final int RES_STATUS = 28;
+
+
+    private static final short JAVA_SERIALIZATION_MAGIC = (short) 0xACED;
+
+    interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    static final class Header {
+        final short version;
+        final int count;
+
+        Header(short version, int count) {
+            this.version = version;
+            this.count = count;
+        }
+    }
+
+    private RecordCodec() {
+    }
+
+    // ==================== HEADERS ====================
+
+    static void writeHeader(DataOutput out, byte kind, int count) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(kind);
+        out.writeInt(count);
+    }
+
+    static Header readHeader(DataInput in, byte kind) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("Not a hotel data file");
+        short version = in.readShort();
+        if (version < 1 || version > VERSION) throw new IOException("Unsupported data file version " + version);
+        byte actual = in.readByte();
+        if (actual != kind) throw new IOException("Expected record kind " + kind + " but found " + actual);
+        return new Header(version, in.readInt());
+    }
+
+    static boolean isLegacyFile(File file) {
+        if (!file.exists() || file.length() < 2) return false;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readShort() == JAVA_SERIALIZATION_MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // ==================== FILES ====================
+
+    static void writeRooms(DataOutputStream out, Collection<Room> rooms, Collection<Room> retired)
+            throws IOException {
+        writeHeader(out, ROOMS, rooms.size());
+        for (Room room : rooms) {
+            writeRoom(out, room);
+        }
+        // Removed rooms that reservations still point at.
+        out.writeInt(retired.size());
+        for (Room room : retired) {
+            writeRoom(out, room);
+        }
+    }
+
+    static void writeCustomers(DataOutputStream out, Collection<Customer> customers) throws IOException {
+        writeHeader(out, CUSTOMERS, customers.size());
+        for (Customer customer : customers) {
+            writeCustomer(out, customer);
+        }
+    }
+
+    /**
+     * The header is followed by the number of records the snapshot expects in the
+     * history: since version 3 a count per history month as [months]([month][count])*,
+     * in version 2 a single count for the one history file. Anything past those was
+     * appended by an interrupted compaction and is still present in this file.
+     */
+    static void writeReservations(DataOutputStream out, Collection<Reservation> reservations,
+                                  NavigableMap<Integer, Integer> historyCounts) throws IOException {
+        writeReservationsHeader(out, reservations.size(), historyCounts);
+        for (Reservation reservation : reservations) {
+            writeReservation(out, reservation);
+        }
+    }
+
+    /** Same layout, written straight from the table's columns. */
+    static void writeReservations(DataOutputStream out, ReservationTable reservations,
+                                  NavigableMap<Integer, Integer> historyCounts) throws IOException {
+        int count = reservations.size();
+        writeReservationsHeader(out, count, historyCounts);
+        for (int row = 0; row < count; row++) {
+            writeReservation(out, reservations.reservationId(row), reservations.customerId(row),
+                    reservations.roomId(row), reservations.checkInDay(row), reservations.checkOutDay(row),
+                    reservations.totalCost(row), reservations.statusCode(row));
+        }
+    }
+
+    private static void writeReservationsHeader(DataOutputStream out, int count,
+                                                NavigableMap<Integer, Integer> historyCounts) throws IOException {
+        writeHeader(out, RESERVATIONS, count);
+        out.writeInt(historyCounts.size());
+        for (Map.Entry<Integer, Integer> entry : historyCounts.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    static NavigableMap<Integer, Integer> readHistoryCounts(DataInput in) throws IOException {
+        NavigableMap<Integer, Integer> counts = new TreeMap<>();
+        for (int months = in.readInt(); months > 0; months--) {
+            counts.put(in.readInt(), in.readInt());
+        }
+        return counts;
+    }
+
+    /** Writes to a sibling temp file, syncs it and renames it over the target. */
+    static void writeFileAtomically(File target, Writer writer) throws IOException {
+        File temp = new File(target.getPath() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16))) {
+            writer.write(out);
+            out.flush();
+            fos.getFD().sync();
+        }
+        Files.move(temp.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static DataInputStream openFile(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+    }
+
+    // ==================== RECORDS ====================
+
+    static void writeRoom(DataOutput out, Room room) throws IOException {
+        out.writeInt(numericId(room.getRoomId()));
+        out.writeDouble(room.getPricePerNight());
+        out.writeInt(room.getCapacity());
+        // Formerly a stored availability flag, now derived from bookings; kept so the layout is unchanged.
+        out.writeBoolean(true);
+        out.writeUTF(room.getRoomType());
+    }
+
+    static Room readRoom(DataInput in) throws IOException {
+        int id = in.readInt();
+        double price = in.readDouble();
+        int capacity = in.readInt();
+        in.readBoolean();
+        return new Room(Room.ID_PREFIX + id, in.readUTF(), price, capacity);
+    }
+
+    static void writeCustomer(DataOutput out, Customer customer) throws IOException {
+        out.writeInt(numericId(customer.getCustomerId()));
+        out.writeUTF(customer.getName());
+        out.writeUTF(customer.getEmail());
+        out.writeUTF(customer.getPhoneNumber());
+        out.writeUTF(customer.getAddress());
+    }
+
+    static Customer readCustomer(DataInput in) throws IOException {
+        int id = in.readInt();
+        return new Customer(Customer.ID_PREFIX + id, in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+    }
+
+    static void writeReservation(DataOutput out, Reservation reservation) throws IOException {
+        writeReservation(out, numericId(reservation.getReservationId()),
+                numericId(reservation.getCustomer().getCustomerId()),
+                numericId(reservation.getRoom().getRoomId()),
+                (int) reservation.getCheckInDate().toEpochDay(),
+                (int) reservation.getCheckOutDate().toEpochDay(),
+                reservation.getTotalCost(), reservation.getStatus().code());
+    }
+
+    static void writeReservation(DataOutput out, int id, int customerId, int roomId, int checkInDay,
+                                 int checkOutDay, double totalCost, byte status) throws IOException {
+        out.writeInt(id);
+        out.writeInt(customerId);
+        out.writeInt(roomId);
+        out.writeInt(checkInDay);
+        out.writeInt(checkOutDay);
+        out.writeDouble(totalCost);
+        out.writeByte(status);
+    }
+
+    /** Returns null when the record points at a customer or room that is not loaded. */
+    static Reservation readReservation(DataInput in, IntFunction<Customer> customers,
+                                       IntFunction<Room> rooms) throws IOException {
+        int id = in.readInt();
+        Customer customer = customers.apply(in.readInt());
+        Room room = rooms.apply(in.readInt());
+        LocalDate checkIn = LocalDate.ofEpochDay(in.readInt());
+        LocalDate checkOut = LocalDate.ofEpochDay(in.readInt());
+        double totalCost = in.readDouble();
+        byte code = in.readByte();
+        ReservationStatus status = ReservationStatus.fromCode(code);
+        if (status == null) throw new IOException("Unknown reservation status " + code);
+        if (customer == null || room == null) return null;
+        return new Reservation(Reservation.ID_PREFIX + id, customer, room, checkIn, checkOut,
+                totalCost, status);
+    }
+
+    // ==================== CONVERSIONS ====================
+
+    static int numericId(String id) {
+        int start = 0;
+        while (start < id.length() && !Character.isDigit(id.charAt(start))) {
+            start++;
+        }
+        return Integer.parseInt(id.substring(start));
+    }
+
+    /** Parses a user-supplied ID such as "ROOM12"; returns -1 if it lacks the prefix or number. */
+    static int parseId(String id, String prefix) {
+        if (id == null || !id.startsWith(prefix) || id.length() == prefix.length()) return -1;
+        int value = 0;
+        for (int i = prefix.length(); i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9' || value > (Integer.MAX_VALUE - 9) / 10) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -5,47 +5,113 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 
+/**
+ * A stay. Live reservations are views of a row in a {@link ReservationTable} and
+ * read every field through to it; archived stays and those read from legacy files
+ * carry their own values in the fields below.
+ */
 public class Reservation implements Serializable {
     private static final long serialVersionUID = 1L;
+    static final String ID_PREFIX = "RES";
     private String reservationId;
     private Customer customer;
     private Room room;
     private LocalDate checkInDate;
     private LocalDate checkOutDate;
     private double totalCost;
-    private String status;
-    private static int reservationCount = 0;
+    // The status's label: a string, so that Java-serialized legacy files still read.
+    private volatile String status;
+    private final transient ReservationTable table;
+    private final transient int row;
 
-    public Reservation(Customer customer, Room room, LocalDate checkInDate, LocalDate checkOutDate) {
-        this.reservationId = "RES" + (++reservationCount);
+    Reservation(String reservationId, Customer customer, Room room, LocalDate checkInDate, LocalDate checkOutDate) {
+        this.reservationId = reservationId;
         this.customer = customer;
         this.room = room;
         this.checkInDate = checkInDate;
         this.checkOutDate = checkOutDate;
-        this.status = "Confirmed";
+        this.status = ReservationStatus.CONFIRMED.toString();
+        this.table = null;
+        this.row = -1;
         calculateTotalCost();
     }
 
+    Reservation(String reservationId, Customer customer, Room room, LocalDate checkInDate,
+                LocalDate checkOutDate, double totalCost, ReservationStatus status) {
+        this.reservationId = reservationId;
+        this.customer = customer;
+        this.room = room;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.totalCost = totalCost;
+        this.status = status.toString();
+        this.table = null;
+        this.row = -1;
+    }
+
+    Reservation(ReservationTable table, int row) {
+        this.table = table;
+        this.row = row;
+    }
+
     private void calculateTotalCost() {
         long nights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
         this.totalCost = nights * room.getPricePerNight();
     }
 
-    public String getReservationId() { return reservationId; }
-    public Customer getCustomer() { return customer; }
-    public Room getRoom() { return room; }
-    public LocalDate getCheckInDate() { return checkInDate; }
-    public LocalDate getCheckOutDate() { return checkOutDate; }
-    public double getTotalCost() { return totalCost; }
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public String getReservationId() {
+        return table == null ? reservationId : ID_PREFIX + table.reservationId(row);
+    }
+
+    public Customer getCustomer() {
+        return table == null ? customer : table.customer(row);
+    }
+
+    public Room getRoom() {
+        return table == null ? room : table.room(row);
+    }
+
+    public LocalDate getCheckInDate() {
+        return table == null ? checkInDate : LocalDate.ofEpochDay(table.checkInDay(row));
+    }
+
+    public LocalDate getCheckOutDate() {
+        return table == null ? checkOutDate : LocalDate.ofEpochDay(table.checkOutDay(row));
+    }
+
+    public double getTotalCost() {
+        return table == null ? totalCost : table.totalCost(row);
+    }
+
+    public ReservationStatus getStatus() {
+        return table == null ? ReservationStatus.fromLabel(status) : table.status(row);
+    }
+
+    /** Moves to {@code next}, which must be a transition the current status allows. */
+    void setStatus(ReservationStatus next) {
+        ReservationStatus current = getStatus();
+        if (!current.canTransitionTo(next)) {
+            throw new IllegalStateException(getReservationId() + " cannot go from " + current + " to " + next);
+        }
+        if (table == null) {
+            this.status = next.toString();
+        } else {
+            table.setStatus(row, next);
+        }
+    }
 
     public String getFormattedDates() {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-        return checkInDate.format(formatter) + " to " + checkOutDate.format(formatter);
+        return getCheckInDate().format(formatter) + " to " + getCheckOutDate().format(formatter);
     }
 
     public long getNights() {
-        return ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+        return ChronoUnit.DAYS.between(getCheckInDate(), getCheckOutDate());
+    }
+
+    /** A view serializes as a standalone copy, in the same form as before views existed. */
+    private Object writeReplace() {
+        return table == null ? this : new Reservation(getReservationId(), getCustomer(), getRoom(),
+                getCheckInDate(), getCheckOutDate(), getTotalCost(), getStatus());
     }
 }
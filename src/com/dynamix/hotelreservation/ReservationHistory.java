@@ -0,0 +1,471 @@
+package com.dynamix.hotelreservation;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.IntFunction;
+
+import static com.dynamix.hotelreservation.RecordCodec.*;
+
+/**
+ * Finished and cancelled stays, kept out of the heap and partitioned by check-out
+ * month: one segment file of fixed-width reservation records per month, all in one
+ * directory. A segment is memory-mapped the first time it is read, fields are read in
+ * place by record index and a {@link Reservation} is only built when a caller asks
+ * for one. Records are numbered month by month, oldest month first.
+ *
+ * Lookups skip segments that cannot match, using the month and a few bounds each
+ * segment works out on first use, so availability checks for current dates never
+ * read old months and a report can load just the months it needs.
+ */
+class ReservationHistory implements Closeable {
+    private final File dir;
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private Segment[] ordered = new Segment[0];
+    private int size;
+
+    /** Growable list of record positions. */
+    private static final class IntList {
+        int[] items = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = value;
+        }
+    }
+
+    /** One month of records; reads are safe from any thread, writes need the history's lock. */
+    private static final class Segment {
+        final int month;
+        final File file;
+        int start;
+        int count;
+        private FileChannel channel;
+        private volatile MappedByteBuffer records;
+
+        // Worked out on first use, then kept current by appends.
+        private boolean scanned;
+        private int minCheckInDay;
+        private int minReservationId;
+        private int maxReservationId;
+        private IntHashMap<IntList> byCustomer;
+
+        Segment(int month, File file) {
+            this.month = month;
+            this.file = file;
+        }
+
+        MappedByteBuffer records() {
+            MappedByteBuffer mapped = records;
+            if (mapped == null) {
+                synchronized (this) {
+                    mapped = records;
+                    if (mapped == null) {
+                        try {
+                            if (channel == null) channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                                    StandardOpenOption.WRITE);
+                            records = mapped = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE,
+                                    (long) count * RESERVATION_RECORD_SIZE);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }
+            }
+            return mapped;
+        }
+
+        int intAt(int position, int field) {
+            return records().getInt(position * RESERVATION_RECORD_SIZE + field);
+        }
+
+        synchronized void scan() {
+            if (scanned) return;
+            minCheckInDay = Integer.MAX_VALUE;
+            minReservationId = Integer.MAX_VALUE;
+            maxReservationId = Integer.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                include(intAt(i, RES_ID), intAt(i, RES_CHECK_IN));
+            }
+            scanned = true;
+        }
+
+        private void include(int reservationId, int checkInDay) {
+            minCheckInDay = Math.min(minCheckInDay, checkInDay);
+            minReservationId = Math.min(minReservationId, reservationId);
+            maxReservationId = Math.max(maxReservationId, reservationId);
+        }
+
+        synchronized IntList positionsForCustomer(int customerId) {
+            if (byCustomer == null) {
+                byCustomer = new IntHashMap<>();
+                for (int i = 0; i < count; i++) {
+                    byCustomer.computeIfAbsent(intAt(i, RES_CUSTOMER), k -> new IntList()).add(i);
+                }
+            }
+            return byCustomer.get(customerId);
+        }
+
+        /** Writes after the first {@code count} records, then publishes the new count in the header. */
+        synchronized void append(List<Reservation> closed) throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            if (channel.size() < HEADER_SIZE) {
+                ByteArrayOutputStream header = new ByteArrayOutputStream(HEADER_SIZE);
+                writeHeader(new DataOutputStream(header), HISTORY, 0);
+                channel.write(ByteBuffer.wrap(header.toByteArray()), 0);
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(closed.size() * RESERVATION_RECORD_SIZE);
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (Reservation reservation : closed) {
+                writeReservation(out, reservation);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            long position = HEADER_SIZE + (long) count * RESERVATION_RECORD_SIZE;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.truncate(position);
+            channel.force(false);
+
+            for (Reservation reservation : closed) {
+                int id = numericId(reservation.getReservationId());
+                if (scanned) include(id, (int) reservation.getCheckInDate().toEpochDay());
+                if (byCustomer != null) {
+                    byCustomer.computeIfAbsent(numericId(reservation.getCustomer().getCustomerId()),
+                            k -> new IntList()).add(count);
+                }
+                count++;
+            }
+            channel.write(ByteBuffer.allocate(4).putInt(count).flip(), COUNT_OFFSET);
+            channel.force(true);
+            records = null;
+        }
+
+        synchronized void close() throws IOException {
+            records = null;
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    ReservationHistory(File dir) {
+        this.dir = dir;
+    }
+
+    // ==================== MONTHS ====================
+
+    /** Months are numbered {@code year * 12 + month - 1}. */
+    static int monthOf(long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    static YearMonth yearMonth(int month) {
+        return YearMonth.of(Math.floorDiv(month, 12), Math.floorMod(month, 12) + 1);
+    }
+
+    static File segmentFile(File dir, int month) {
+        return new File(dir, yearMonth(month) + ".dat");
+    }
+
+    // ==================== OPENING ====================
+
+    /**
+     * Opens the segments listed in {@code expected}, month to record count, as saved in
+     * the reservations snapshot. Records past a month's count belong to an interrupted
+     * compaction and are overwritten by the next append.
+     */
+    synchronized void open(NavigableMap<Integer, Integer> expected) throws IOException {
+        close();
+        segments.clear();
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            Segment segment = new Segment(entry.getKey(), segmentFile(dir, entry.getKey()));
+            segment.count = Math.min(entry.getValue(), recordsIn(segment.file));
+            if (segment.count > 0) segments.put(segment.month, segment);
+        }
+        reindex();
+    }
+
+    private static int recordsIn(File file) throws IOException {
+        if (file.length() < HEADER_SIZE) return 0;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            RecordCodec.Header header = readHeader(in, HISTORY);
+            long available = (file.length() - HEADER_SIZE) / RESERVATION_RECORD_SIZE;
+            return (int) Math.min(header.count, available);
+        }
+    }
+
+    /**
+     * Splits a history file from before partitioning into segments, replacing any the
+     * directory already held, and opens them. Returns the counts to save in the snapshot.
+     */
+    synchronized NavigableMap<Integer, Integer> migrate(File legacyFile, int expected) throws IOException {
+        close();
+        try (DataInputStream in = openFile(legacyFile);
+             Builder builder = new Builder(dir)) {
+            int count = Math.min(expected, readHeader(in, HISTORY).count);
+            for (int i = 0; i < count; i++) {
+                builder.add(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                        in.readDouble(), in.readByte());
+            }
+            NavigableMap<Integer, Integer> counts = builder.finish();
+            open(counts);
+            return counts;
+        }
+    }
+
+    /** Month to record count of every segment, for the reservations snapshot. */
+    synchronized NavigableMap<Integer, Integer> counts() {
+        NavigableMap<Integer, Integer> counts = new TreeMap<>();
+        segments.forEach((month, segment) -> counts.put(month, segment.count));
+        return counts;
+    }
+
+    private void reindex() {
+        ordered = segments.values().toArray(new Segment[0]);
+        size = 0;
+        for (Segment segment : ordered) {
+            segment.start = size;
+            size += segment.count;
+        }
+    }
+
+    // ==================== RECORDS ====================
+
+    int size() {
+        return size;
+    }
+
+    private Segment segmentOf(int index) {
+        Segment[] all = ordered;
+        int low = 0;
+        int high = all.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (all[mid].start <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return all[low];
+    }
+
+    private int intAt(int index, int field) {
+        Segment segment = segmentOf(index);
+        return segment.intAt(index - segment.start, field);
+    }
+
+    int reservationId(int index) {
+        return intAt(index, RES_ID);
+    }
+
+    int customerId(int index) {
+        return intAt(index, RES_CUSTOMER);
+    }
+
+    int roomId(int index) {
+        return intAt(index, RES_ROOM);
+    }
+
+    int checkInDay(int index) {
+        return intAt(index, RES_CHECK_IN);
+    }
+
+    int checkOutDay(int index) {
+        return intAt(index, RES_CHECK_OUT);
+    }
+
+    double totalCost(int index) {
+        Segment segment = segmentOf(index);
+        return segment.records().getDouble((index - segment.start) * RESERVATION_RECORD_SIZE + RES_TOTAL_COST);
+    }
+
+    byte status(int index) {
+        Segment segment = segmentOf(index);
+        return segment.records().get((index - segment.start) * RESERVATION_RECORD_SIZE + RES_STATUS);
+    }
+
+    /** Builds the reservation at {@code index}, or null if its customer or room is unknown. */
+    Reservation get(int index, IntFunction<Customer> customers, IntFunction<Room> rooms) {
+        Customer customer = customers.apply(customerId(index));
+        Room room = rooms.apply(roomId(index));
+        if (customer == null || room == null) return null;
+        return new Reservation(Reservation.ID_PREFIX + reservationId(index), customer, room,
+                LocalDate.ofEpochDay(checkInDay(index)), LocalDate.ofEpochDay(checkOutDay(index)),
+                totalCost(index), ReservationStatus.fromCode(status(index)));
+    }
+
+    /** Archived months, oldest first. */
+    synchronized List<YearMonth> months() {
+        List<YearMonth> months = new ArrayList<>(segments.size());
+        for (int month : segments.keySet()) {
+            months.add(yearMonth(month));
+        }
+        return months;
+    }
+
+    /** Record indexes {@code [from, to)} of one month's stays; empty if nothing was archived for it. */
+    synchronized int[] range(YearMonth month) {
+        Segment segment = segments.get(month.getYear() * 12 + month.getMonthValue() - 1);
+        return segment == null ? new int[]{0, 0} : new int[]{segment.start, segment.start + segment.count};
+    }
+
+    /** Index of the first record that checked out in {@code month} or later; {@link #size()} if none did. */
+    synchronized int firstIndexFrom(int month) {
+        Map.Entry<Integer, Segment> entry = segments.ceilingEntry(month);
+        return entry == null ? size : entry.getValue().start;
+    }
+
+    // ==================== LOOKUPS ====================
+
+    /** Newest months first, skipping those whose ID range can't hold it. */
+    int indexOf(int reservationId) {
+        Segment[] all = ordered;
+        for (int s = all.length - 1; s >= 0; s--) {
+            Segment segment = all[s];
+            segment.scan();
+            if (reservationId < segment.minReservationId || reservationId > segment.maxReservationId) continue;
+            for (int i = segment.count - 1; i >= 0; i--) {
+                if (segment.intAt(i, RES_ID) == reservationId) return segment.start + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Record indexes of one customer's archived stays, oldest first. Each segment builds
+     * its customer index from the mapped column on first use, so opening stays cheap.
+     */
+    int[] indexesForCustomer(int customerId) {
+        IntList indexes = new IntList();
+        for (Segment segment : ordered) {
+            IntList positions = segment.positionsForCustomer(customerId);
+            if (positions == null) continue;
+            for (int i = 0; i < positions.size; i++) {
+                indexes.add(segment.start + positions.items[i]);
+            }
+        }
+        return Arrays.copyOf(indexes.items, indexes.size);
+    }
+
+    /**
+     * True if a confirmed archived stay of the room overlaps the inclusive day range.
+     * Only months from the range's first day on can hold a stay ending inside it, and of
+     * those only the ones with a stay starting by its last day are read.
+     */
+    boolean overlaps(int roomId, long checkInDay, long checkOutDay) {
+        Segment[] all = ordered;
+        int firstMonth = monthOf(checkInDay);
+        for (int s = all.length - 1; s >= 0 && all[s].month >= firstMonth; s--) {
+            Segment segment = all[s];
+            segment.scan();
+            if (segment.minCheckInDay > checkOutDay) continue;
+            for (int i = 0; i < segment.count; i++) {
+                if (segment.intAt(i, RES_ROOM) == roomId
+                        && ReservationStatus.fromCode(segment.records().get(i * RESERVATION_RECORD_SIZE + RES_STATUS)).holdsRoom()
+                        && segment.intAt(i, RES_CHECK_IN) <= checkOutDay
+                        && segment.intAt(i, RES_CHECK_OUT) >= checkInDay) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // ==================== WRITING ====================
+
+    /** Appends each stay to the segment of its check-out month. Record indexes of later months shift. */
+    synchronized void append(Collection<Reservation> closed) throws IOException {
+        if (closed.isEmpty()) return;
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("Cannot create " + dir);
+        Map<Integer, List<Reservation>> byMonth = new TreeMap<>();
+        for (Reservation reservation : closed) {
+            byMonth.computeIfAbsent(monthOf(reservation.getCheckOutDate().toEpochDay()),
+                    m -> new ArrayList<>()).add(reservation);
+        }
+        try {
+            for (Map.Entry<Integer, List<Reservation>> entry : byMonth.entrySet()) {
+                segments.computeIfAbsent(entry.getKey(), m -> new Segment(m, segmentFile(dir, m)))
+                        .append(entry.getValue());
+            }
+        } finally {
+            reindex();
+        }
+    }
+
+    /**
+     * Streams records straight into new segment files, replacing any the directory held.
+     * Used to split a legacy history file and to generate large data sets.
+     */
+    static final class Builder implements Closeable {
+        private final File dir;
+        private final Map<Integer, DataOutputStream> outputs = new HashMap<>();
+        private final NavigableMap<Integer, Integer> counts = new TreeMap<>();
+
+        Builder(File dir) throws IOException {
+            this.dir = dir;
+            if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("Cannot create " + dir);
+            File[] existing = dir.listFiles((d, name) -> name.endsWith(".dat"));
+            if (existing != null) {
+                for (File file : existing) {
+                    if (!file.delete()) throw new IOException("Cannot delete " + file);
+                }
+            }
+        }
+
+        void add(int id, int customerId, int roomId, int checkInDay, int checkOutDay, double totalCost,
+                 byte status) throws IOException {
+            int month = monthOf(checkOutDay);
+            DataOutputStream out = outputs.get(month);
+            if (out == null) {
+                out = new DataOutputStream(new BufferedOutputStream(
+                        new FileOutputStream(segmentFile(dir, month)), 1 << 14));
+                writeHeader(out, HISTORY, 0);
+                outputs.put(month, out);
+            }
+            writeReservation(out, id, customerId, roomId, checkInDay, checkOutDay, totalCost, status);
+            counts.merge(month, 1, Integer::sum);
+        }
+
+        /** Syncs every segment with its record count and returns month to count. */
+        NavigableMap<Integer, Integer> finish() throws IOException {
+            close();
+            for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+                try (RandomAccessFile raf = new RandomAccessFile(segmentFile(dir, entry.getKey()), "rw")) {
+                    raf.seek(COUNT_OFFSET);
+                    raf.writeInt(entry.getValue());
+                    raf.getFD().sync();
+                }
+            }
+            return counts;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (DataOutputStream out : outputs.values()) {
+                out.close();
+            }
+            outputs.clear();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.dynamix.hotelreservation;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of model mutations written between snapshots.
+ * Each record is framed as [length][type + payload][crc32] so a torn tail
+ * left by a crash is detected and dropped on replay. Records appended between
+ * {@link #beginBatch()} and {@link #commitBatch()} share one frame, so replay
+ * applies all of them or none.
+ */
+class ReservationJournal implements Closeable {
+    static final byte ADD_ROOM = 1;
+    static final byte REMOVE_ROOM = 2;
+    static final byte ADD_CUSTOMER = 3;
+    static final byte BOOK = 4;
+    static final byte CANCEL = 5;
+    static final byte BATCH = 6;
+    static final byte STATUS = 7;
+
+    private static final int SYNC_BATCH = 32;
+    private static final long SYNC_INTERVAL_MS = 200;
+
+    interface Handler {
+        void addRoom(Room room);
+        void removeRoom(String roomId);
+        void addCustomer(Customer customer);
+        void book(String reservationId, String customerId, String roomId,
+                  LocalDate checkIn, LocalDate checkOut, double totalCost);
+        void cancel(String reservationId);
+        void changeStatus(String reservationId, ReservationStatus status);
+    }
+
+    private final File file;
+    private final FileChannel channel;
+    private final ScheduledExecutorService syncer;
+    private int recordCount;
+    private int unsynced;
+    private ByteArrayOutputStream batch;
+    private int batchRecords;
+
+    ReservationJournal(File file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "journal-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        syncer.scheduleWithFixedDelay(this::syncQuietly, SYNC_INTERVAL_MS, SYNC_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // ==================== WRITING ====================
+
+    void appendAddRoom(Room room) {
+        append(ADD_ROOM, out -> {
+            out.writeUTF(room.getRoomId());
+            out.writeUTF(room.getRoomType());
+            out.writeDouble(room.getPricePerNight());
+            out.writeInt(room.getCapacity());
+        });
+    }
+
+    void appendRemoveRoom(String roomId) {
+        append(REMOVE_ROOM, out -> out.writeUTF(roomId));
+    }
+
+    void appendAddCustomer(Customer customer) {
+        append(ADD_CUSTOMER, out -> {
+            out.writeUTF(customer.getCustomerId());
+            out.writeUTF(customer.getName());
+            out.writeUTF(customer.getEmail());
+            out.writeUTF(customer.getPhoneNumber());
+            out.writeUTF(customer.getAddress());
+        });
+    }
+
+    void appendBooking(Reservation reservation) {
+        append(BOOK, out -> {
+            out.writeUTF(reservation.getReservationId());
+            out.writeUTF(reservation.getCustomer().getCustomerId());
+            out.writeUTF(reservation.getRoom().getRoomId());
+            out.writeLong(reservation.getCheckInDate().toEpochDay());
+            out.writeLong(reservation.getCheckOutDate().toEpochDay());
+            out.writeDouble(reservation.getTotalCost());
+        });
+    }
+
+    void appendCancel(String reservationId) {
+        append(CANCEL, out -> out.writeUTF(reservationId));
+    }
+
+    void appendStatusChange(String reservationId, ReservationStatus status) {
+        append(STATUS, out -> {
+            out.writeUTF(reservationId);
+            out.writeByte(status.code());
+        });
+    }
+
+    /**
+     * @throws UncheckedIOException if the record couldn't be written; the journal is left
+     *         as it was, so the caller must not apply the change
+     */
+    private synchronized void append(byte type, RecordCodec.Writer payload) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type);
+            payload.write(out);
+            byte[] body = bytes.toByteArray();
+
+            if (batch != null) {
+                DataOutputStream batchOut = new DataOutputStream(batch);
+                batchOut.writeInt(body.length);
+                batchOut.write(body);
+                batchRecords++;
+                return;
+            }
+            writeFrame(body, unsynced + 1 >= SYNC_BATCH);
+            recordCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't write to the journal " + file, e);
+        }
+    }
+
+    /**
+     * Appends one frame, syncing if asked. On failure the file is cut back to where the
+     * frame started, so a later append doesn't land behind a torn frame that replay
+     * would stop at.
+     */
+    private void writeFrame(byte[] body, boolean sync) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer frame = ByteBuffer.allocate(body.length + 8);
+        frame.putInt(body.length).put(body).putInt((int) crc.getValue()).flip();
+        long start = channel.size();
+        try {
+            channel.position(start);
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            unsynced++;
+            if (sync) sync();
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /** Buffers the following appends until {@link #commitBatch()}; callers must keep other writers out. */
+    synchronized void beginBatch() {
+        if (batch != null) throw new IllegalStateException("Journal batch already open");
+        batch = new ByteArrayOutputStream(4096);
+        batchRecords = 0;
+    }
+
+    /**
+     * Writes the buffered records as one frame and syncs it.
+     *
+     * @throws UncheckedIOException if the frame couldn't be written; none of the batch is kept
+     */
+    synchronized void commitBatch() {
+        ByteArrayOutputStream records = batch;
+        int count = batchRecords;
+        batch = null;
+        if (records == null || count == 0) return;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(records.size() + 5);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(BATCH);
+            out.writeInt(count);
+            records.writeTo(out);
+            writeFrame(bytes.toByteArray(), true);
+            recordCount += count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't write to the journal " + file, e);
+        }
+    }
+
+    synchronized void sync() throws IOException {
+        if (unsynced > 0 && channel.isOpen()) {
+            channel.force(false);
+            unsynced = 0;
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    synchronized int recordCount() {
+        return recordCount;
+    }
+
+    /** Drops all records; called once their effects are captured in a snapshot. */
+    synchronized void reset() throws IOException {
+        channel.truncate(0);
+        channel.force(true);
+        recordCount = 0;
+        unsynced = 0;
+    }
+
+    // ==================== REPLAY ====================
+
+    synchronized void replay(Handler handler) throws IOException {
+        long size = channel.size();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        long position = 0;
+        int replayed = 0;
+        try (in) {
+            while (position + 4 <= size) {
+                int length = in.readInt();
+                if (length <= 0 || position + 8 + length > size) break;
+                byte[] body = new byte[length];
+                in.readFully(body);
+                int expected = in.readInt();
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != expected) break;
+
+                replayed += apply(new DataInputStream(new ByteArrayInputStream(body)), handler);
+                position += 8 + length;
+            }
+        }
+        if (position < size) {
+            // Torn or corrupt tail from an interrupted write: discard it so new records follow valid ones.
+            channel.truncate(position);
+        }
+        recordCount = replayed;
+    }
+
+    /** Returns the number of records applied. */
+    private int apply(DataInputStream in, Handler handler) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case ADD_ROOM:
+                handler.addRoom(new Room(in.readUTF(), in.readUTF(), in.readDouble(), in.readInt()));
+                break;
+            case REMOVE_ROOM:
+                handler.removeRoom(in.readUTF());
+                break;
+            case ADD_CUSTOMER:
+                handler.addCustomer(new Customer(in.readUTF(), in.readUTF(), in.readUTF(),
+                        in.readUTF(), in.readUTF()));
+                break;
+            case BOOK:
+                handler.book(in.readUTF(), in.readUTF(), in.readUTF(),
+                        LocalDate.ofEpochDay(in.readLong()), LocalDate.ofEpochDay(in.readLong()),
+                        in.readDouble());
+                break;
+            case CANCEL:
+                handler.cancel(in.readUTF());
+                break;
+            case STATUS:
+                String reservationId = in.readUTF();
+                byte code = in.readByte();
+                ReservationStatus status = ReservationStatus.fromCode(code);
+                if (status == null) throw new IOException("Unknown reservation status " + code);
+                handler.changeStatus(reservationId, status);
+                break;
+            case BATCH:
+                int applied = 0;
+                for (int count = in.readInt(); count > 0; count--) {
+                    byte[] record = new byte[in.readInt()];
+                    in.readFully(record);
+                    applied += apply(new DataInputStream(new ByteArrayInputStream(record)), handler);
+                }
+                return applied;
+            default:
+                throw new IOException("Unknown journal record type " + type);
+        }
+        return 1;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        syncer.shutdown();
+        sync();
+        channel.close();
+    }
+}
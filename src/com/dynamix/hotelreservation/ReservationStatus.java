@@ -0,0 +1,94 @@
+package com.dynamix.hotelreservation;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Where a reservation is in its life, and the moves it may make from there:
+ *
+ * <pre>
+ * PENDING    → CONFIRMED, CANCELLED
+ * CONFIRMED  → CHECKED_IN, CANCELLED, NO_SHOW
+ * CHECKED_IN → CHECKED_OUT
+ * </pre>
+ *
+ * Checked-out, cancelled and no-show stays are final, and a final stay holds nothing:
+ * checking out early frees the nights the guest didn't use. Files store {@link #code()},
+ * which never changes for a state; Confirmed and Cancelled keep the codes they had
+ * when they were the only two.
+ */
+public enum ReservationStatus {
+    PENDING(3, "Pending", true, false),
+    CONFIRMED(1, "Confirmed", true, true),
+    CHECKED_IN(4, "Checked In", true, true),
+    CHECKED_OUT(5, "Checked Out", false, true),
+    CANCELLED(2, "Cancelled", false, false),
+    NO_SHOW(6, "No Show", false, false);
+
+    private static final ReservationStatus[] BY_CODE = new ReservationStatus[8];
+
+    static {
+        for (ReservationStatus status : values()) {
+            BY_CODE[status.code] = status;
+        }
+        PENDING.next = EnumSet.of(CONFIRMED, CANCELLED);
+        CONFIRMED.next = EnumSet.of(CHECKED_IN, CANCELLED, NO_SHOW);
+        CHECKED_IN.next = EnumSet.of(CHECKED_OUT);
+        CHECKED_OUT.next = EnumSet.noneOf(ReservationStatus.class);
+        CANCELLED.next = EnumSet.noneOf(ReservationStatus.class);
+        NO_SHOW.next = EnumSet.noneOf(ReservationStatus.class);
+    }
+
+    private final byte code;
+    private final String label;
+    private final boolean holdsRoom;
+    private final boolean booked;
+    private Set<ReservationStatus> next;
+
+    ReservationStatus(int code, String label, boolean holdsRoom, boolean booked) {
+        this.code = (byte) code;
+        this.label = label;
+        this.holdsRoom = holdsRoom;
+        this.booked = booked;
+    }
+
+    public boolean canTransitionTo(ReservationStatus status) {
+        return next.contains(status);
+    }
+
+    public boolean isFinal() {
+        return next.isEmpty();
+    }
+
+    /** Whether the stay keeps its room from other bookings on its dates. */
+    public boolean holdsRoom() {
+        return holdsRoom;
+    }
+
+    /** Whether the stay counts as a booking, with its revenue, in the statistics. */
+    public boolean isBooked() {
+        return booked;
+    }
+
+    byte code() {
+        return code;
+    }
+
+    /** Null for a code no state uses. */
+    static ReservationStatus fromCode(byte code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    /** Accepts the label ("Checked In") or the constant name, ignoring case; null if neither matches. */
+    public static ReservationStatus fromLabel(String text) {
+        for (ReservationStatus status : values()) {
+            if (status.label.equalsIgnoreCase(text) || status.name().equalsIgnoreCase(text)) return status;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
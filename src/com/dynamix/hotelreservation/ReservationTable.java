@@ -0,0 +1,165 @@
+package com.dynamix.hotelreservation;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+import static com.dynamix.hotelreservation.RecordCodec.*;
+
+/**
+ * Live reservations as parallel primitive columns, one row per stay: numeric
+ * reservation, customer and room IDs, check-in and check-out epoch days, cost in
+ * paise and a status byte. Availability and statistics scans read the columns
+ * directly without building objects; everyone else gets a {@link Reservation} view
+ * of a row, which reads through to the table and resolves its customer and room
+ * when asked.
+ *
+ * Rows are only appended. Archiving builds a new table from the rows that stay
+ * live, so views of the old one keep reading what they read before. Appends and
+ * status changes are serialized; reads need no lock, since a row is written before
+ * the size that covers it is published and grown columns are published whole.
+ */
+final class ReservationTable {
+    private static final int MIN_CAPACITY = 64;
+
+    private static final class Columns {
+        final int[] reservationIds;
+        final int[] customerIds;
+        final int[] roomIds;
+        final int[] checkInDays;
+        final int[] checkOutDays;
+        final long[] costs;
+        final byte[] statuses;
+
+        Columns(int capacity) {
+            reservationIds = new int[capacity];
+            customerIds = new int[capacity];
+            roomIds = new int[capacity];
+            checkInDays = new int[capacity];
+            checkOutDays = new int[capacity];
+            costs = new long[capacity];
+            statuses = new byte[capacity];
+        }
+
+        Columns(Columns from, int capacity) {
+            reservationIds = Arrays.copyOf(from.reservationIds, capacity);
+            customerIds = Arrays.copyOf(from.customerIds, capacity);
+            roomIds = Arrays.copyOf(from.roomIds, capacity);
+            checkInDays = Arrays.copyOf(from.checkInDays, capacity);
+            checkOutDays = Arrays.copyOf(from.checkOutDays, capacity);
+            costs = Arrays.copyOf(from.costs, capacity);
+            statuses = Arrays.copyOf(from.statuses, capacity);
+        }
+    }
+
+    private final IntFunction<Customer> customers;
+    private final IntFunction<Room> rooms;
+    private volatile Columns columns;
+    private volatile int size;
+
+    /** {@code customers} and {@code rooms} resolve the numeric IDs that views hand out. */
+    ReservationTable(IntFunction<Customer> customers, IntFunction<Room> rooms, int capacity) {
+        this.customers = customers;
+        this.rooms = rooms;
+        this.columns = new Columns(Math.max(MIN_CAPACITY, capacity));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Appends the values of {@code reservation} and returns a view of the new row. */
+    synchronized Reservation add(Reservation reservation) {
+        int row = size;
+        Columns c = columns;
+        if (row == c.reservationIds.length) {
+            c = new Columns(c, row * 2);
+            columns = c;
+        }
+        c.reservationIds[row] = numericId(reservation.getReservationId());
+        c.customerIds[row] = numericId(reservation.getCustomer().getCustomerId());
+        c.roomIds[row] = numericId(reservation.getRoom().getRoomId());
+        c.checkInDays[row] = (int) reservation.getCheckInDate().toEpochDay();
+        c.checkOutDays[row] = (int) reservation.getCheckOutDate().toEpochDay();
+        c.costs[row] = BookingStatistics.toPaise(reservation.getTotalCost());
+        c.statuses[row] = reservation.getStatus().code();
+        size = row + 1;
+        return new Reservation(this, row);
+    }
+
+    /** A new table holding the rows that pass {@code keep}, in order. */
+    ReservationTable filter(IntPredicate keep) {
+        int count = size;
+        Columns from = columns;
+        ReservationTable kept = new ReservationTable(customers, rooms, count);
+        Columns to = kept.columns;
+        int rows = 0;
+        for (int row = 0; row < count; row++) {
+            if (!keep.test(row)) continue;
+            to.reservationIds[rows] = from.reservationIds[row];
+            to.customerIds[rows] = from.customerIds[row];
+            to.roomIds[rows] = from.roomIds[row];
+            to.checkInDays[rows] = from.checkInDays[row];
+            to.checkOutDays[rows] = from.checkOutDays[row];
+            to.costs[rows] = from.costs[row];
+            to.statuses[rows] = from.statuses[row];
+            rows++;
+        }
+        kept.size = rows;
+        return kept;
+    }
+
+    Reservation view(int row) {
+        return new Reservation(this, row);
+    }
+
+    // ==================== COLUMNS ====================
+
+    int reservationId(int row) {
+        return columns.reservationIds[row];
+    }
+
+    int customerId(int row) {
+        return columns.customerIds[row];
+    }
+
+    int roomId(int row) {
+        return columns.roomIds[row];
+    }
+
+    int checkInDay(int row) {
+        return columns.checkInDays[row];
+    }
+
+    int checkOutDay(int row) {
+        return columns.checkOutDays[row];
+    }
+
+    long costPaise(int row) {
+        return columns.costs[row];
+    }
+
+    double totalCost(int row) {
+        return columns.costs[row] / 100.0;
+    }
+
+    ReservationStatus status(int row) {
+        return ReservationStatus.fromCode(columns.statuses[row]);
+    }
+
+    byte statusCode(int row) {
+        return columns.statuses[row];
+    }
+
+    synchronized void setStatus(int row, ReservationStatus status) {
+        columns.statuses[row] = status.code();
+    }
+
+    Customer customer(int row) {
+        return customers.apply(columns.customerIds[row]);
+    }
+
+    Room room(int row) {
+        return rooms.apply(columns.roomIds[row]);
+    }
+}
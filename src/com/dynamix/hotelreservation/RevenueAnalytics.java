@@ -0,0 +1,161 @@
+package com.dynamix.hotelreservation;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Builds a {@link RevenueReport}. Stays are read as primitive columns (epoch days,
+ * paise, room type index) and spread over the report's nights with difference arrays,
+ * so a stay costs the same however long it is. The scan is a parallel stream on the
+ * common fork-join pool: every leaf fills its own arrays and leaves are summed
+ * pairwise, so workers share nothing while they run. A running sum over the merged
+ * arrays then gives sold nights and revenue per type per night, rolled up into periods.
+ */
+final class RevenueAnalytics {
+    /** About twenty years; bounds the arrays every leaf allocates. */
+    static final int MAX_DAYS = 20 * 366;
+
+    private final LocalDate from;
+    private final long firstDay;
+    private final int days;
+    private final String[] types;
+    private final Map<String, Integer> typeIndexes = new HashMap<>();
+
+    RevenueAnalytics(LocalDate from, LocalDate to, Collection<String> roomTypes) {
+        if (to.isBefore(from)) throw new IllegalArgumentException("Report ends before it starts");
+        long span = to.toEpochDay() - from.toEpochDay() + 1;
+        if (span > MAX_DAYS) throw new IllegalArgumentException("Report range is longer than " + MAX_DAYS + " days");
+        this.from = from;
+        this.firstDay = from.toEpochDay();
+        this.days = (int) span;
+        this.types = new TreeSet<>(roomTypes).toArray(new String[0]);
+        for (int i = 0; i < types.length; i++) {
+            typeIndexes.put(types[i], i);
+        }
+    }
+
+    /** Index of {@code roomType}, or -1 if it wasn't one of the types given up front. */
+    int typeIndex(String roomType) {
+        Integer index = typeIndexes.get(roomType);
+        return index == null ? -1 : index;
+    }
+
+    /** Runs {@code stay} on every index below {@code count}, in parallel, and merges what they added. */
+    Nights scan(int count, ObjIntConsumer<Nights> stay) {
+        return IntStream.range(0, count).parallel().collect(Nights::new, stay, Nights::addAll);
+    }
+
+    /**
+     * Per-night deltas, one row of {@code days + 1} per room type: a stay adds at its
+     * first night in range and subtracts after its last, the extra slot taking stays
+     * that run past the end.
+     */
+    final class Nights {
+        private final long[] sold = new long[types.length * (days + 1)];
+        private final long[] paise = new long[types.length * (days + 1)];
+
+        /** A stay of the nights {@code [checkInDay, checkOutDay)}; ignored if {@code type} is negative. */
+        void add(int type, long checkInDay, long checkOutDay, long totalPaise) {
+            long nights = checkOutDay - checkInDay;
+            long start = Math.max(checkInDay, firstDay);
+            long end = Math.min(checkOutDay, firstDay + days);
+            if (type < 0 || nights <= 0 || start >= end) return;
+
+            int row = type * (days + 1);
+            int first = row + (int) (start - firstDay);
+            int last = row + (int) (end - firstDay);
+            long nightly = totalPaise / nights;
+            sold[first]++;
+            sold[last]--;
+            paise[first] += nightly;
+            paise[last] -= nightly;
+            if (start == checkInDay) {
+                // Paise that don't divide evenly are charged to the first night.
+                long remainder = totalPaise - nightly * nights;
+                paise[first] += remainder;
+                paise[first + 1] -= remainder;
+            }
+        }
+
+        void addAll(Nights other) {
+            for (int i = 0; i < sold.length; i++) {
+                sold[i] += other.sold[i];
+                paise[i] += other.paise[i];
+            }
+        }
+    }
+
+    /** {@code roomCounts} is the number of rooms of each type, for available room-nights. */
+    RevenueReport report(Nights nights, Map<String, Integer> roomCounts, RevenueReport.Granularity granularity) {
+        int[] inventory = new int[types.length];
+        for (int t = 0; t < types.length; t++) {
+            inventory[t] = roomCounts.getOrDefault(types[t], 0);
+        }
+
+        long[] soldTonight = new long[types.length];
+        long[] paiseTonight = new long[types.length];
+        long[] periodSold = new long[types.length];
+        long[] periodPaise = new long[types.length];
+        long[] totalSold = new long[types.length];
+        long[] totalPaise = new long[types.length];
+        List<RevenueReport.Period> periods = new ArrayList<>();
+        int periodStart = 0;
+        for (int d = 0; d < days; d++) {
+            for (int t = 0; t < types.length; t++) {
+                int row = t * (days + 1);
+                soldTonight[t] += nights.sold[row + d];
+                paiseTonight[t] += nights.paise[row + d];
+                periodSold[t] += soldTonight[t];
+                periodPaise[t] += paiseTonight[t];
+            }
+            if (d == days - 1 || startsPeriod(from.plusDays(d + 1), granularity)) {
+                Map<String, RevenueReport.Metrics> byType = metrics(periodSold, periodPaise, d - periodStart + 1, inventory);
+                periods.add(new RevenueReport.Period(from.plusDays(periodStart), from.plusDays(d),
+                        sum(byType.values()), byType));
+                for (int t = 0; t < types.length; t++) {
+                    totalSold[t] += periodSold[t];
+                    totalPaise[t] += periodPaise[t];
+                }
+                Arrays.fill(periodSold, 0);
+                Arrays.fill(periodPaise, 0);
+                periodStart = d + 1;
+            }
+        }
+        Map<String, RevenueReport.Metrics> totalByType = metrics(totalSold, totalPaise, days, inventory);
+        return new RevenueReport(from, from.plusDays(days - 1), granularity, sum(totalByType.values()),
+                totalByType, periods);
+    }
+
+    private static boolean startsPeriod(LocalDate date, RevenueReport.Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> true;
+            case WEEK -> date.getDayOfWeek() == DayOfWeek.MONDAY;
+            case MONTH -> date.getDayOfMonth() == 1;
+        };
+    }
+
+    /** Types with no rooms and no stays in the period are left out. */
+    private Map<String, RevenueReport.Metrics> metrics(long[] sold, long[] paise, int dayCount, int[] inventory) {
+        Map<String, RevenueReport.Metrics> byType = new LinkedHashMap<>();
+        for (int t = 0; t < types.length; t++) {
+            if (inventory[t] == 0 && sold[t] == 0) continue;
+            byType.put(types[t], new RevenueReport.Metrics((long) inventory[t] * dayCount, sold[t], paise[t] / 100.0));
+        }
+        return byType;
+    }
+
+    private static RevenueReport.Metrics sum(Collection<RevenueReport.Metrics> metrics) {
+        long available = 0;
+        long sold = 0;
+        long paise = 0;
+        for (RevenueReport.Metrics m : metrics) {
+            available += m.availableRoomNights();
+            sold += m.soldRoomNights();
+            paise += BookingStatistics.toPaise(m.revenue());
+        }
+        return new RevenueReport.Metrics(available, sold, paise / 100.0);
+    }
+}
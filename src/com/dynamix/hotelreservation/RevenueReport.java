@@ -0,0 +1,39 @@
+package com.dynamix.hotelreservation;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Occupancy and revenue for {@code from..to} (inclusive), from
+ * {@link HotelReservationModel#getRevenueReport}. A stay fills one room-night for each
+ * night from check-in up to, not including, check-out, and its cost is spread evenly
+ * over those nights. Available room-nights are the current rooms of a type times the
+ * days in the period.
+ */
+public record RevenueReport(LocalDate from, LocalDate to, Granularity granularity,
+                            Metrics total, Map<String, Metrics> totalByRoomType, List<Period> periods) {
+
+    public enum Granularity { DAY, WEEK, MONTH }
+
+    public record Metrics(long availableRoomNights, long soldRoomNights, double revenue) {
+
+        public double occupancyRate() {
+            return availableRoomNights == 0 ? 0 : (double) soldRoomNights / availableRoomNights;
+        }
+
+        /** Average daily rate: revenue per sold room-night. */
+        public double averageDailyRate() {
+            return soldRoomNights == 0 ? 0 : revenue / soldRoomNights;
+        }
+
+        /** Revenue per available room-night. */
+        public double revPar() {
+            return availableRoomNights == 0 ? 0 : revenue / availableRoomNights;
+        }
+    }
+
+    /** One day, ISO week or calendar month, cut to the report's range at either end. */
+    public record Period(LocalDate start, LocalDate end, Metrics total, Map<String, Metrics> byRoomType) {
+    }
+}
@@ -2,32 +2,29 @@ package com.dynamix.hotelreservation;
 
 import java.io.Serializable;
 
+/**
+ * A room as it was added. Type, price and capacity never change: the room index and
+ * cached searches are built on them, and the journal only records whole rooms.
+ */
 public class Room implements Serializable {
     private static final long serialVersionUID = 1L;
-    private String roomId;
-    private String roomType;
-    private double pricePerNight;
-    private boolean isAvailable;
-    private int capacity;
-    private static int roomCount = 0;
+    static final String ID_PREFIX = "ROOM";
+    private final String roomId;
+    private final String roomType;
+    private final double pricePerNight;
+    private final int capacity;
 
-    public Room(String roomType, double pricePerNight, int capacity) {
-        this.roomId = "ROOM" + (++roomCount);
+    Room(String roomId, String roomType, double pricePerNight, int capacity) {
+        this.roomId = roomId;
         this.roomType = roomType;
         this.pricePerNight = pricePerNight;
         this.capacity = capacity;
-        this.isAvailable = true;
     }
 
     public String getRoomId() { return roomId; }
     public String getRoomType() { return roomType; }
-    public void setRoomType(String roomType) { this.roomType = roomType; }
     public double getPricePerNight() { return pricePerNight; }
-    public void setPricePerNight(double pricePerNight) { this.pricePerNight = pricePerNight; }
-    public boolean isAvailable() { return isAvailable; }
-    public void setAvailable(boolean available) { isAvailable = available; }
     public int getCapacity() { return capacity; }
-    public void setCapacity(int capacity) { this.capacity = capacity; }
 
     @Override
     public String toString() {
@@ -0,0 +1,118 @@
+package com.dynamix.hotelreservation;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Stays that hold their room (see {@link ReservationStatus#holdsRoom}), per room,
+ * ordered by check-in date. They never overlap (bookReservation rejects conflicts),
+ * so the stay with the latest check-in on or before a query's check-out is the
+ * only one that can collide with it.
+ *
+ * It also keeps a view of today: per room, the stay covering today, check-in through
+ * check-out day, or a guest still checked in past their check-out, so what a room is
+ * doing today is one lookup. Adds, removes and {@link #refresh} keep a room's entry
+ * current; {@link #rollTo} moves the whole view to a new day.
+ * Writers for a room must hold that room's lock; readers need no locking.
+ */
+class RoomAvailabilityIndex {
+    private final Map<String, ConcurrentNavigableMap<LocalDate, Reservation>> staysByRoom = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> stayToday = new ConcurrentHashMap<>();
+    private volatile LocalDate today = LocalDate.now();
+
+    void add(Reservation reservation) {
+        String roomId = reservation.getRoom().getRoomId();
+        ConcurrentNavigableMap<LocalDate, Reservation> stays =
+                staysByRoom.computeIfAbsent(roomId, id -> new ConcurrentSkipListMap<>());
+        stays.put(reservation.getCheckInDate(), reservation);
+        refreshToday(roomId, stays);
+    }
+
+    void remove(Reservation reservation) {
+        String roomId = reservation.getRoom().getRoomId();
+        ConcurrentNavigableMap<LocalDate, Reservation> stays = staysByRoom.get(roomId);
+        if (stays == null) return;
+        stays.remove(reservation.getCheckInDate(), reservation);
+        if (stays.isEmpty()) {
+            staysByRoom.remove(roomId);
+        }
+        refreshToday(roomId, stays);
+    }
+
+    boolean isAvailable(String roomId, LocalDate checkIn, LocalDate checkOut) {
+        ConcurrentNavigableMap<LocalDate, Reservation> stays = staysByRoom.get(roomId);
+        if (stays == null) return true;
+        Map.Entry<LocalDate, Reservation> latest = stays.floorEntry(checkOut);
+        return latest == null || latest.getValue().getCheckOutDate().isBefore(checkIn);
+    }
+
+    // ==================== TODAY ====================
+
+    LocalDate today() {
+        return today;
+    }
+
+    /** The stay covering today in the room, or null. */
+    Reservation stayToday(String roomId) {
+        return stayToday.get(roomId);
+    }
+
+    RoomStatus statusToday(String roomId) {
+        return RoomStatus.of(stayToday.get(roomId));
+    }
+
+    /** Whether no stay holds the room today or starts after today. */
+    boolean isFreeFromToday(String roomId) {
+        if (stayToday.containsKey(roomId)) return false;
+        ConcurrentNavigableMap<LocalDate, Reservation> stays = staysByRoom.get(roomId);
+        return stays == null || stays.higherKey(today) == null;
+    }
+
+    /** Re-reads the room's entry after a stay in it changed status without moving. */
+    void refresh(String roomId) {
+        ConcurrentNavigableMap<LocalDate, Reservation> stays = staysByRoom.get(roomId);
+        if (stays == null) {
+            stayToday.remove(roomId);
+        } else {
+            refreshToday(roomId, stays);
+        }
+    }
+
+    /** Caller must exclude all writers. */
+    void rollTo(LocalDate day) {
+        today = day;
+        stayToday.clear();
+        staysByRoom.forEach(this::refreshToday);
+    }
+
+    private void refreshToday(String roomId, NavigableMap<LocalDate, Reservation> stays) {
+        LocalDate day = today;
+        Reservation stay = null;
+        Map.Entry<LocalDate, Reservation> latest = stays.floorEntry(day);
+        if (latest != null) {
+            Map.Entry<LocalDate, Reservation> before = stays.lowerEntry(latest.getKey());
+            if (before != null && before.getValue().getStatus() == ReservationStatus.CHECKED_IN) {
+                // The previous guest hasn't left yet, so the room is still theirs.
+                stay = before.getValue();
+            } else if (!latest.getValue().getCheckOutDate().isBefore(day)
+                    || latest.getValue().getStatus() == ReservationStatus.CHECKED_IN) {
+                stay = latest.getValue();
+            }
+        }
+        if (stay == null) {
+            stayToday.remove(roomId);
+        } else {
+            stayToday.put(roomId, stay);
+        }
+    }
+
+    /** Empties the index and sets the day its view of today is for. */
+    void clear(LocalDate day) {
+        staysByRoom.clear();
+        stayToday.clear();
+        today = day;
+    }
+}
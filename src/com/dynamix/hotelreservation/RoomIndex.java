@@ -0,0 +1,146 @@
+package com.dynamix.hotelreservation;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Rooms sorted by price per night: all of them, per type and per capacity. A search
+ * binary-searches the price range in each list, reads only the slices of whichever
+ * criterion leaves the fewest candidates, and merges them cheapest first, so it can
+ * stop as soon as it has enough rooms. Rooms change rarely, so the arrays are rebuilt
+ * on the first search after the model reports a room added or removed. A {@link Room}
+ * is immutable, so its place in the arrays never goes stale.
+ */
+final class RoomIndex {
+    private static final Comparator<Room> BY_PRICE = Comparator.comparingDouble(Room::getPricePerNight)
+            .thenComparingInt(room -> RecordCodec.numericId(room.getRoomId()));
+
+    private record Snapshot(long version, Room[] all, Map<String, Room[]> byType,
+                            NavigableMap<Integer, Room[]> byCapacity) {
+    }
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /** Called after the set of rooms changes; the next search rebuilds the arrays. */
+    void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Matching rooms cheapest first, up to the search's limit. {@code available} is
+     * only asked about rooms that pass the other criteria.
+     */
+    List<Room> search(RoomSearch search, Collection<Room> rooms, Predicate<Room> available) {
+        Snapshot index = snapshot(rooms);
+        List<Room[]> lists = new ArrayList<>();
+        List<int[]> ranges = new ArrayList<>();
+        slice(index.all(), search, lists, ranges);
+        int candidates = count(ranges);
+
+        if (!search.roomTypes().isEmpty()) {
+            List<Room[]> typeLists = new ArrayList<>();
+            List<int[]> typeRanges = new ArrayList<>();
+            for (String type : search.roomTypes()) {
+                Room[] byType = index.byType().get(type);
+                if (byType != null) slice(byType, search, typeLists, typeRanges);
+            }
+            if (count(typeRanges) < candidates) {
+                lists = typeLists;
+                ranges = typeRanges;
+                candidates = count(typeRanges);
+            }
+        }
+        if (search.minCapacity() > 0) {
+            List<Room[]> capacityLists = new ArrayList<>();
+            List<int[]> capacityRanges = new ArrayList<>();
+            for (Room[] byCapacity : index.byCapacity().tailMap(search.minCapacity(), true).values()) {
+                slice(byCapacity, search, capacityLists, capacityRanges);
+            }
+            if (count(capacityRanges) < candidates) {
+                lists = capacityLists;
+                ranges = capacityRanges;
+            }
+        }
+        return merge(lists, ranges, search, available);
+    }
+
+    private static List<Room> merge(List<Room[]> lists, List<int[]> ranges, RoomSearch search,
+                                    Predicate<Room> available) {
+        int limit = search.limit() > 0 ? search.limit() : Integer.MAX_VALUE;
+        List<Room> result = new ArrayList<>();
+        // Each cursor is {list, position, end}; the heap yields the cheapest head.
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, lists.size()),
+                (a, b) -> BY_PRICE.compare(lists.get(a[0])[a[1]], lists.get(b[0])[b[1]]));
+        for (int i = 0; i < lists.size(); i++) {
+            int[] range = ranges.get(i);
+            if (range[0] < range[1]) heads.add(new int[]{i, range[0], range[1]});
+        }
+        while (!heads.isEmpty() && result.size() < limit) {
+            int[] cursor = heads.poll();
+            Room room = lists.get(cursor[0])[cursor[1]];
+            if (search.matches(room) && available.test(room)) result.add(room);
+            if (++cursor[1] < cursor[2]) heads.add(cursor);
+        }
+        return result;
+    }
+
+    /** Adds the part of {@code rooms} inside the search's price range. */
+    private static void slice(Room[] rooms, RoomSearch search, List<Room[]> lists, List<int[]> ranges) {
+        int from = firstPriceAbove(rooms, search.minPrice(), false);
+        int to = firstPriceAbove(rooms, search.maxPrice(), true);
+        if (from < to) {
+            lists.add(rooms);
+            ranges.add(new int[]{from, to});
+        }
+    }
+
+    /** First index whose price is above {@code price}, or at least it when not {@code strictly}. */
+    private static int firstPriceAbove(Room[] rooms, double price, boolean strictly) {
+        int low = 0;
+        int high = rooms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            double midPrice = rooms[mid].getPricePerNight();
+            if (strictly ? midPrice <= price : midPrice < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int count(List<int[]> ranges) {
+        int count = 0;
+        for (int[] range : ranges) {
+            count += range[1] - range[0];
+        }
+        return count;
+    }
+
+    private Snapshot snapshot(Collection<Room> rooms) {
+        Snapshot current = snapshot;
+        // Read the version before the rooms, so a change made meanwhile leaves this stale.
+        long expected = version.get();
+        if (current != null && current.version() == expected) return current;
+
+        Room[] all = rooms.toArray(new Room[0]);
+        Arrays.sort(all, BY_PRICE);
+        Map<String, List<Room>> byType = new HashMap<>();
+        NavigableMap<Integer, List<Room>> byCapacity = new TreeMap<>();
+        for (Room room : all) {
+            byType.computeIfAbsent(room.getRoomType(), t -> new ArrayList<>()).add(room);
+            byCapacity.computeIfAbsent(room.getCapacity(), c -> new ArrayList<>()).add(room);
+        }
+        Map<String, Room[]> types = new HashMap<>();
+        byType.forEach((type, list) -> types.put(type, list.toArray(new Room[0])));
+        NavigableMap<Integer, Room[]> capacities = new TreeMap<>();
+        byCapacity.forEach((capacity, list) -> capacities.put(capacity, list.toArray(new Room[0])));
+
+        Snapshot built = new Snapshot(expected, all, types, capacities);
+        snapshot = built;
+        return built;
+    }
+}
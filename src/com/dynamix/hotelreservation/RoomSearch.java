@@ -0,0 +1,31 @@
+package com.dynamix.hotelreservation;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Criteria for {@link HotelReservationModel#searchRooms}. An empty {@code roomTypes}
+ * matches any type, prices are per night and inclusive, and null dates skip the
+ * availability check. {@code limit} caps the number of rooms returned; 0 means no cap.
+ */
+public record RoomSearch(Set<String> roomTypes, int minCapacity, double minPrice, double maxPrice,
+                         LocalDate checkInDate, LocalDate checkOutDate, int limit) {
+
+    public RoomSearch {
+        roomTypes = roomTypes == null ? Set.of() : Set.copyOf(roomTypes);
+        if ((checkInDate == null) != (checkOutDate == null)) {
+            throw new IllegalArgumentException("Give both dates or neither");
+        }
+    }
+
+    /** Every room free for the dates, cheapest first. */
+    public static RoomSearch forDates(LocalDate checkInDate, LocalDate checkOutDate) {
+        return new RoomSearch(Set.of(), 0, 0, Double.POSITIVE_INFINITY, checkInDate, checkOutDate, 0);
+    }
+
+    boolean matches(Room room) {
+        return (roomTypes.isEmpty() || roomTypes.contains(room.getRoomType()))
+                && room.getCapacity() >= minCapacity
+                && room.getPricePerNight() >= minPrice && room.getPricePerNight() <= maxPrice;
+    }
+}
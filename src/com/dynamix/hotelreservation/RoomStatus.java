@@ -0,0 +1,34 @@
+package com.dynamix.hotelreservation;
+
+/**
+ * What a room is doing today, derived from the stay that covers today rather than
+ * stored on the room: occupied while a guest is checked in, reserved while a pending or
+ * confirmed stay is due, available otherwise. Finished stays don't hold their room, so
+ * the index never reports one as covering today.
+ */
+public enum RoomStatus {
+    AVAILABLE("Available"),
+    RESERVED("Reserved"),
+    OCCUPIED("Occupied");
+
+    private final String label;
+
+    RoomStatus(String label) {
+        this.label = label;
+    }
+
+    /** {@code stayToday} is the stay covering today, or null. */
+    static RoomStatus of(Reservation stayToday) {
+        if (stayToday == null) return AVAILABLE;
+        return switch (stayToday.getStatus()) {
+            case CHECKED_IN -> OCCUPIED;
+            case PENDING, CONFIRMED -> RESERVED;
+            case CHECKED_OUT, CANCELLED, NO_SHOW -> AVAILABLE;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -1,9 +1,12 @@
 /**
- * 
+ * Model, storage and the HTTP API. Nothing here touches AWT or Swing, so the core
+ * runs on headless servers; the desktop client lives in the GUI module.
  */
-/**
- * 
- */
-module HotelReservationGUI {
-	requires java.desktop;
-}
\ No newline at end of file
+module com.dynamix.hotelreservation {
+	requires jdk.httpserver;
+	requires java.management;
+	// Only the load generator under bench/ uses the HTTP client.
+	requires static java.net.http;
+
+	exports com.dynamix.hotelreservation;
+}
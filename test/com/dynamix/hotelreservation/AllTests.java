@@ -0,0 +1,34 @@
+package com.dynamix.hotelreservation;
+
+/**
+ * Runs every suite under test/ and exits with 1 if any case failed:
+ *
+ * <pre>
+ * javac -d out $(find src bench test -name '*.java')
+ * java -cp out com.dynamix.hotelreservation.AllTests
+ * </pre>
+ */
+public final class AllTests {
+    private AllTests() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        suite("ReservationJournal", ReservationJournalTest::run);
+        suite("ReservationHistory", ReservationHistoryTest::run);
+        suite("IdAllocator", IdAllocatorTest::run);
+        suite("ReservationTable", ReservationTableTest::run);
+        suite("ModelEventBus", ModelEventBusTest::run);
+        suite("FrontDesk", FrontDeskTest::run);
+        suite("RevenueAnalytics", RevenueAnalyticsTest::run);
+        suite("DataTransfer", DataTransferTest::run);
+        suite("ConcurrentBooking", ConcurrentBookingTest::run);
+
+        System.out.println(TestSupport.passed() + " passed, " + TestSupport.failed() + " failed");
+        System.exit(TestSupport.failed() == 0 ? 0 : 1);
+    }
+
+    private static void suite(String name, Runnable cases) {
+        System.out.println(name);
+        cases.run();
+    }
+}
@@ -0,0 +1,155 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.dynamix.hotelreservation.TestSupport.*;
+
+/** Striped room locking: racing bookings never double-book, and unrelated rooms don't block each other. */
+final class ConcurrentBookingTest {
+    private static final int THREADS = 16;
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 1);
+
+    private ConcurrentBookingTest() {
+    }
+
+    static void run() {
+        test("threads racing for one room and the same dates get exactly one booking", () -> {
+            File dir = tempDir();
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                String customerId = model.addCustomer("Asha", "asha@example.com", "98450", "Pune").getCustomerId();
+                for (int round = 0; round < 25; round++) {
+                    LocalDate in = DAY.plusDays(10L * round);
+                    List<Reservation> booked = race(i -> model.bookReservation(customerId, "ROOM1", in, in.plusDays(3)));
+                    checkEquals(1, booked.size(), "bookings won in round " + round);
+                }
+                check(model.verifyBookingStats(), "statistics match the bookings");
+            } finally {
+                model.close();
+            }
+        });
+
+        test("overlapping requests for one room never produce overlapping stays", () -> {
+            File dir = tempDir();
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                String customerId = model.addCustomer("Asha", "asha@example.com", "98450", "Pune").getCustomerId();
+                List<Reservation> booked = race(i -> model.bookReservation(customerId, "ROOM2",
+                        DAY.plusDays(i), DAY.plusDays(i + 2)));
+                check(!booked.isEmpty(), "at least one booking");
+                for (Reservation a : booked) {
+                    for (Reservation b : booked) {
+                        boolean overlap = !a.getCheckInDate().isAfter(b.getCheckOutDate())
+                                && !a.getCheckOutDate().isBefore(b.getCheckInDate());
+                        check(a == b || !overlap, a.getReservationId() + " overlaps " + b.getReservationId());
+                    }
+                }
+            } finally {
+                model.close();
+            }
+        });
+
+        test("different rooms book in parallel and racing cancellations keep statistics exact", () -> {
+            File dir = tempDir();
+            HotelReservationModel model = new HotelReservationModel(dir);
+            int rooms = model.getRoomCount();
+            try {
+                String customerId = model.addCustomer("Asha", "asha@example.com", "98450", "Pune").getCustomerId();
+                List<Reservation> booked = race(i -> {
+                    Random random = new Random(i);
+                    Reservation last = null;
+                    for (int n = 0; n < 50; n++) {
+                        LocalDate in = DAY.plusDays(4L * (n * THREADS + i));
+                        Reservation reservation = model.bookReservation(customerId, "ROOM" + (1 + i % rooms),
+                                in, in.plusDays(2));
+                        if (reservation == null) throw new AssertionError("booking refused for thread " + i);
+                        if (random.nextBoolean()) model.cancelReservation(reservation.getReservationId());
+                        last = reservation;
+                    }
+                    return last;
+                });
+                checkEquals(THREADS, booked.size(), "threads that finished");
+                checkEquals(THREADS * 50, model.getReservationCount(), "reservations");
+                check(model.verifyBookingStats(), "statistics match the reservations");
+            } finally {
+                model.close();
+            }
+            HotelReservationModel reopened = new HotelReservationModel(dir);
+            try {
+                checkEquals(THREADS * 50, reopened.getReservationCount(), "reservations after reopening");
+                check(reopened.verifyBookingStats(), "statistics match after reopening");
+            } finally {
+                reopened.close();
+            }
+        });
+
+        test("a search right after a booking never returns the booked room from the cache", () -> {
+            File dir = tempDir();
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                while (model.getRoomCount() < THREADS) {
+                    model.addRoom("Single", 1500, 1);
+                }
+                String customerId = model.addCustomer("Asha", "asha@example.com", "98450", "Pune").getCustomerId();
+                List<Reservation> booked = race(i -> {
+                    String roomId = "ROOM" + (i + 1);
+                    Reservation last = null;
+                    for (int n = 0; n < 50; n++) {
+                        LocalDate in = DAY.plusDays(4L * n);
+                        model.getAvailableRoomsForDates(in, in.plusDays(2));
+                        last = model.bookReservation(customerId, roomId, in, in.plusDays(2));
+                        if (last == null) throw new AssertionError("booking refused for " + roomId);
+                        if (model.getAvailableRoomsForDates(in, in.plusDays(2)).stream()
+                                .anyMatch(room -> room.getRoomId().equals(roomId))) {
+                            throw new AssertionError(roomId + " still listed after booking " + last.getReservationId());
+                        }
+                    }
+                    return last;
+                });
+                checkEquals(THREADS, booked.size(), "threads that finished");
+            } finally {
+                model.close();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        Reservation run(int thread) throws Exception;
+    }
+
+    /** Starts every attempt at once and returns the non-null results. */
+    private static List<Reservation> race(Attempt attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Reservation>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int thread = i;
+                Callable<Reservation> task = () -> {
+                    start.await();
+                    return attempt.run(thread);
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            List<Reservation> results = new ArrayList<>();
+            for (Future<Reservation> future : futures) {
+                Reservation reservation = future.get();
+                if (reservation != null) results.add(reservation);
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
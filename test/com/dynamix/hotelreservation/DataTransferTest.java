@@ -0,0 +1,150 @@
+package com.dynamix.hotelreservation;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.dynamix.hotelreservation.TestSupport.*;
+
+/** CSV and JSON import and export, between two models standing in for two hotels. */
+final class DataTransferTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 4, 1);
+
+    private DataTransferTest() {
+    }
+
+    static void run() {
+        for (DataTransfer.Format format : DataTransfer.Format.values()) {
+            test(format + " round trip keeps commas, quotes and newlines in fields", () -> {
+                HotelReservationModel source = new HotelReservationModel(tempDir());
+                HotelReservationModel target = new HotelReservationModel(tempDir());
+                try {
+                    source.addCustomer("Rao, Asha", "asha@example.com", "+91 \"office\"", "12 Hill Rd\nPune");
+                    source.addCustomer("O'Neil \"Ned\"", "ned@example.com", "", "Flat 4, \"Rose\" Court,\r\nMumbai");
+                    source.addCustomer("Plain", "plain@example.com", "98450", "Delhi");
+                    DataTransfer.ImportReport report = transfer(source, target, DataTransfer.Kind.CUSTOMERS, format);
+                    checkEquals(3, report.imported, "imported");
+                    checkEquals(0, report.rejected, "rejected " + report.errors);
+                    for (Customer original : source.getAllCustomers()) {
+                        Customer copy = target.findCustomerByEmail(original.getEmail());
+                        check(copy != null, original.getEmail() + " imported");
+                        checkEquals(original.getName(), copy.getName(), "name");
+                        checkEquals(original.getPhoneNumber(), copy.getPhoneNumber(), "phone");
+                        checkEquals(original.getAddress(), copy.getAddress(), "address");
+                    }
+
+                    report = transfer(source, target, DataTransfer.Kind.CUSTOMERS, format);
+                    checkEquals(0, report.imported, "imported again");
+                    checkEquals(3, report.skipped, "already registered");
+                } finally {
+                    source.close();
+                    target.close();
+                }
+            });
+
+            test(format + " reservations move by customer email and skip cancelled stays", () -> {
+                HotelReservationModel source = new HotelReservationModel(tempDir());
+                HotelReservationModel target = new HotelReservationModel(tempDir());
+                try {
+                    // The target's CUST1 is someone else; the reservation must follow the email.
+                    target.addCustomer("Other", "other@example.com", "", "");
+                    source.addCustomer("Filler", "filler@example.com", "", "");
+                    String asha = source.addCustomer("Asha", "asha@example.com", "", "").getCustomerId();
+                    source.bookReservation(asha, "ROOM1", DAY, DAY.plusDays(2));
+                    Reservation cancelled = source.bookReservation(asha, "ROOM2", DAY, DAY.plusDays(2));
+                    source.cancelReservation(cancelled.getReservationId());
+                    source.bookReservation(asha, "ROOM3", DAY.plusDays(5), DAY.plusDays(9));
+
+                    transfer(source, target, DataTransfer.Kind.CUSTOMERS, format);
+                    DataTransfer.ImportReport report = transfer(source, target, DataTransfer.Kind.RESERVATIONS, format);
+                    checkEquals(2, report.imported, "imported");
+                    checkEquals(1, report.skipped, "cancelled stay skipped");
+                    Customer imported = target.findCustomerByEmail("asha@example.com");
+                    checkEquals(2, target.countReservationsByCustomer(imported.getCustomerId()), "Asha's stays");
+                    checkEquals(0, target.countReservationsByCustomer("CUST1"), "other guest's stays");
+                    check(target.verifyBookingStats(), "statistics match the imported stays");
+                } finally {
+                    source.close();
+                    target.close();
+                }
+            });
+        }
+
+        test("rejected records are reported with their number and reason", () -> {
+            HotelReservationModel model = new HotelReservationModel(tempDir());
+            try {
+                model.addCustomer("Asha", "asha@example.com", "", "");
+                String csv = String.join("\n",
+                        "customerId,customerEmail,roomId,checkIn,checkOut,status",
+                        "CUST1,asha@example.com,ROOM1,2030-04-01,2030-04-03,Confirmed",
+                        "CUST1,,ROOM2,2030-04-01,2030-04-03,Confirmed",
+                        "CUST1,nobody@example.com,ROOM2,2030-04-01,2030-04-03,Confirmed",
+                        "CUST1,asha@example.com,ROOM2,01-04-2030,2030-04-03,Confirmed",
+                        "CUST1,asha@example.com,ROOM2,2030-04-03,2030-04-03,Confirmed",
+                        "CUST1,asha@example.com,ROOM1,2030-04-02,2030-04-04,Confirmed",
+                        "CUST1,asha@example.com,ROOM9,2030-04-02,2030-04-04,",
+                        "CUST1,asha@example.com,ROOM2,2030-04-02,2030-04-04,Cancelled") + "\n";
+                DataTransfer.ImportReport report = DataTransfer.importRecords(model, DataTransfer.Kind.RESERVATIONS,
+                        DataTransfer.Format.CSV, new StringReader(csv));
+                checkEquals(1, report.imported, "imported");
+                checkEquals(1, report.skipped, "skipped");
+                checkEquals(6, report.rejected, "rejected");
+                checkEquals(List.of(
+                        "Record 2: missing customerEmail",
+                        "Record 3: unknown customer nobody@example.com",
+                        "Record 4: bad checkIn '01-04-2030', expected yyyy-MM-dd",
+                        "Record 5: checkOut must be after checkIn",
+                        "Record 6: room ROOM1 unknown or not available",
+                        "Record 7: room ROOM9 unknown or not available"), report.errors, "errors");
+                checkEquals(1, model.getReservationCount(), "reservations");
+            } finally {
+                model.close();
+            }
+        });
+
+        test("records are numbered across batch boundaries and every batch is applied", () -> {
+            HotelReservationModel model = new HotelReservationModel(tempDir());
+            try {
+                int total = 2 * DataTransfer.BATCH_SIZE + 1;
+                StringBuilder csv = new StringBuilder("name,email,phoneNumber,address\n");
+                for (int i = 1; i <= total; i++) {
+                    // The last record of the first batch, and the first of the second and third, have no email.
+                    boolean bad = i == DataTransfer.BATCH_SIZE || i == DataTransfer.BATCH_SIZE + 1 || i == total;
+                    csv.append("Guest ").append(i).append(',')
+                            .append(bad ? "" : "guest" + i + "@example.com").append(",98450,Pune\n");
+                }
+                DataTransfer.ImportReport report = DataTransfer.importRecords(model, DataTransfer.Kind.CUSTOMERS,
+                        DataTransfer.Format.CSV, new StringReader(csv.toString()));
+                checkEquals(total - 3, report.imported, "imported");
+                checkEquals(List.of(
+                        "Record " + DataTransfer.BATCH_SIZE + ": missing email",
+                        "Record " + (DataTransfer.BATCH_SIZE + 1) + ": missing email",
+                        "Record " + total + ": missing email"), report.errors, "errors");
+                checkEquals(total - 3, model.getCustomerCount(), "customers");
+
+                StringWriter out = new StringWriter();
+                DataTransfer.export(model, DataTransfer.Kind.CUSTOMERS, DataTransfer.Format.JSON, out);
+                HotelReservationModel copy = new HotelReservationModel(tempDir());
+                try {
+                    DataTransfer.ImportReport copied = DataTransfer.importRecords(copy, DataTransfer.Kind.CUSTOMERS,
+                            DataTransfer.Format.JSON, new StringReader(out.toString()));
+                    checkEquals(total - 3, copied.imported, "exported in pages and imported again");
+                    check(copy.findCustomerByEmail("guest" + (total - 1) + "@example.com") != null, "last page");
+                } finally {
+                    copy.close();
+                }
+            } finally {
+                model.close();
+            }
+        });
+    }
+
+    private static DataTransfer.ImportReport transfer(HotelReservationModel source, HotelReservationModel target,
+                                                      DataTransfer.Kind kind, DataTransfer.Format format)
+            throws Exception {
+        StringWriter out = new StringWriter();
+        DataTransfer.export(source, kind, format, out);
+        return DataTransfer.importRecords(target, kind, format, new StringReader(out.toString()));
+    }
+}
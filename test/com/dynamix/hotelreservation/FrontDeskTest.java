@@ -0,0 +1,81 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.BitSet;
+
+import static com.dynamix.hotelreservation.TestSupport.*;
+
+/** Check-in, check-out and what they leave behind for availability, across a save and a restart. */
+final class FrontDeskTest {
+    private FrontDeskTest() {
+    }
+
+    static void run() {
+        test("an early check-out frees the nights left, before and after a restart", () -> {
+            File dir = tempDir();
+            LocalDate today = LocalDate.now();
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                String customerId = model.addCustomer("Asha", "asha@example.com", "98450", "Pune").getCustomerId();
+                Reservation stay = model.bookReservation(customerId, "ROOM1", today, today.plusDays(5));
+                model.checkIn(stay.getReservationId());
+                checkEquals(RoomStatus.OCCUPIED, model.getRoomStatus("ROOM1"), "status while checked in");
+                check(!isFree(model, today.plusDays(2), today.plusDays(4)), "held while checked in");
+                model.checkOut(stay.getReservationId());
+                checkFreed(model, today, "after checking out");
+                model.saveAll();
+                checkFreed(model, today, "after saving");
+            } finally {
+                model.close();
+            }
+            HotelReservationModel reopened = new HotelReservationModel(dir);
+            try {
+                checkFreed(reopened, today, "after reopening");
+                check(reopened.bookReservation("CUST1", "ROOM1", today.plusDays(2), today.plusDays(4)) != null,
+                        "booking the freed nights");
+            } finally {
+                reopened.close();
+            }
+        });
+
+        test("cancelling a stay the guest has checked into is refused and changes nothing", () -> {
+            File dir = tempDir();
+            LocalDate today = LocalDate.now();
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                String customerId = model.addCustomer("Asha", "asha@example.com", "98450", "Pune").getCustomerId();
+                Reservation stay = model.bookReservation(customerId, "ROOM1", today, today.plusDays(3));
+                Reservation other = model.bookReservation(customerId, "ROOM2", today.plusDays(1), today.plusDays(3));
+                model.checkIn(stay.getReservationId());
+                for (int attempt = 0; attempt < 2; attempt++) {
+                    try {
+                        model.cancelReservation(stay.getReservationId());
+                        throw new AssertionError("cancelled a " + stay.getStatus() + " stay");
+                    } catch (IllegalStateException expected) {
+                        check(expected.getMessage().contains(stay.getReservationId()), expected.getMessage());
+                    }
+                    if (attempt == 0) model.checkOut(stay.getReservationId());
+                }
+                checkEquals(ReservationStatus.CHECKED_OUT, stay.getStatus(), "status after refused cancellations");
+                checkEquals(ReservationStatus.CANCELLED, model.cancelReservation(other.getReservationId()).getStatus(),
+                        "cancelled confirmed stay");
+                check(model.cancelReservation("RES999") == null, "unknown reservation");
+                check(model.verifyBookingStats(), "statistics match the reservations");
+            } finally {
+                model.close();
+            }
+        });
+    }
+
+    private static void checkFreed(HotelReservationModel model, LocalDate today, String when) {
+        checkEquals(RoomStatus.AVAILABLE, model.getRoomStatus("ROOM1"), "status " + when);
+        check(isFree(model, today.plusDays(2), today.plusDays(4)), "remaining nights free " + when);
+        checkEquals(new BitSet(), model.getRoomOccupancy("ROOM1", today, 6), "occupancy " + when);
+    }
+
+    private static boolean isFree(HotelReservationModel model, LocalDate checkIn, LocalDate checkOut) {
+        return model.getAvailableRoomsForDates(checkIn, checkOut).stream()
+                .anyMatch(room -> room.getRoomId().equals("ROOM1"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+
+import static com.dynamix.hotelreservation.TestSupport.*;
+
+/** ID blocks are on disk before any ID from them is handed out. */
+final class IdAllocatorTest {
+    private IdAllocatorTest() {
+    }
+
+    static void run() {
+        test("no ID is handed out from a block that couldn't be persisted", () -> {
+            File dir = tempDir();
+            File file = new File(dir, HotelReservationModel.SEQUENCES_FILE);
+            // A directory where the temporary file should go makes every write fail.
+            File blocker = new File(dir, HotelReservationModel.SEQUENCES_FILE + ".tmp");
+            IdAllocator ids = new IdAllocator(file);
+            checkEquals("RES1", ids.reservations.nextId(), "first ID");
+            for (int i = 2; i <= IdAllocator.BLOCK_SIZE; i++) {
+                ids.reservations.nextId();
+            }
+            check(blocker.mkdir(), "blocker created");
+            for (int attempt = 0; attempt < 2; attempt++) {
+                try {
+                    String id = ids.reservations.nextId();
+                    throw new AssertionError("handed out " + id + " past the persisted block");
+                } catch (UncheckedIOException expected) {
+                    // The caller's change is refused.
+                }
+            }
+            check(blocker.delete(), "blocker removed");
+            String next = ids.reservations.nextId();
+
+            IdAllocator reopened = new IdAllocator(file);
+            check(reopened.load(), "sequence file loaded");
+            int issued = RecordCodec.numericId(next);
+            check(RecordCodec.numericId(reopened.reservations.nextId()) > issued,
+                    "numbering after a restart resumes past " + next);
+        });
+
+        test("a checkpoint gives back the unused rest of each block", () -> {
+            File file = new File(tempDir(), HotelReservationModel.SEQUENCES_FILE);
+            IdAllocator ids = new IdAllocator(file);
+            ids.customers.nextId();
+            ids.customers.nextId();
+            ids.checkpoint();
+            IdAllocator reopened = new IdAllocator(file);
+            check(reopened.load(), "sequence file loaded");
+            checkEquals("CUST3", reopened.customers.nextId(), "next customer ID");
+            checkEquals("ROOM1", reopened.rooms.nextId(), "next room ID");
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.dynamix.hotelreservation;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.dynamix.hotelreservation.TestSupport.*;
+
+/** Coalescing of queued model events. */
+final class ModelEventBusTest {
+    private static final Customer CUSTOMER = new Customer("CUST1", "Asha", "asha@example.com", "98450", "Pune");
+    private static final Room ROOM = new Room("ROOM1", "Single", 1500, 1);
+
+    private ModelEventBusTest() {
+    }
+
+    static void run() {
+        test("a repeated event moves to its latest position", () -> {
+            ModelEvent archived = new ModelEvent.ReservationsArchived();
+            ModelEvent booked = new ModelEvent.ReservationBooked(stay(1));
+            ModelEvent archivedAgain = new ModelEvent.ReservationsArchived();
+            ModelEvent bookedAfter = new ModelEvent.ReservationBooked(stay(2));
+            checkEquals(List.of(booked, archivedAgain, bookedAfter),
+                    ModelEventBus.coalesce(List.of(archived, booked, archivedAgain, bookedAfter)), "coalesced");
+        });
+
+        test("events for different entities keep their order", () -> {
+            ModelEvent first = new ModelEvent.ReservationBooked(stay(1));
+            ModelEvent cancelled = new ModelEvent.ReservationCancelled(stay(1));
+            ModelEvent second = new ModelEvent.ReservationBooked(stay(2));
+            checkEquals(List.of(first, cancelled, second),
+                    ModelEventBus.coalesce(List.of(first, cancelled, second)), "coalesced");
+        });
+
+        test("a reload discards everything queued before it", () -> {
+            ModelEvent reloaded = new ModelEvent.DataReloaded();
+            ModelEvent booked = new ModelEvent.ReservationBooked(stay(3));
+            checkEquals(List.of(reloaded, booked), ModelEventBus.coalesce(List.of(
+                    new ModelEvent.ReservationBooked(stay(1)), new ModelEvent.RoomAdded(ROOM), reloaded, booked)),
+                    "coalesced");
+        });
+    }
+
+    private static Reservation stay(int id) {
+        LocalDate day = LocalDate.of(2030, 1, 1).plusDays(3L * id);
+        return new Reservation(Reservation.ID_PREFIX + id, CUSTOMER, ROOM, day, day.plusDays(1));
+    }
+}
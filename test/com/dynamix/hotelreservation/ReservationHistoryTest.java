@@ -0,0 +1,213 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static com.dynamix.hotelreservation.TestSupport.*;
+
+/** The mapped history of finished stays, directly and through the model's archiving. */
+final class ReservationHistoryTest {
+    private static final Customer CUSTOMER = new Customer("CUST1", "Asha", "asha@example.com", "98450", "Pune");
+    private static final Room ROOM = new Room("ROOM7", "Suite", 4000, 3);
+
+    private ReservationHistoryTest() {
+    }
+
+    static void run() {
+        test("records read back field for field after reopening", () -> {
+            File dir = tempDir();
+            NavigableMap<Integer, Integer> counts;
+            try (ReservationHistory history = openEmpty(dir)) {
+                history.append(List.of(
+                        stay(1, "2024-03-02", "2024-03-05", ReservationStatus.CONFIRMED),
+                        stay(2, "2024-03-10", "2024-03-12", ReservationStatus.CANCELLED)));
+                counts = history.counts();
+            }
+            try (ReservationHistory history = new ReservationHistory(dir)) {
+                history.open(counts);
+                checkEquals(2, history.size(), "records");
+                int index = history.indexOf(2);
+                checkEquals(7, history.roomId(index), "room");
+                checkEquals(1, history.customerId(index), "customer");
+                checkEquals(LocalDate.parse("2024-03-10").toEpochDay(), (long) history.checkInDay(index), "check-in");
+                checkEquals(LocalDate.parse("2024-03-12").toEpochDay(), (long) history.checkOutDay(index), "check-out");
+                checkEquals(8000.0, history.totalCost(index), "cost");
+                checkEquals(ReservationStatus.CANCELLED, ReservationStatus.fromCode(history.status(index)), "status");
+                checkEquals(-1, history.indexOf(3), "unknown reservation");
+            }
+        });
+
+        test("records past the snapshot's count, left by an interrupted compaction, are ignored", () -> {
+            File dir = tempDir();
+            NavigableMap<Integer, Integer> committed;
+            try (ReservationHistory history = openEmpty(dir)) {
+                history.append(List.of(stay(1, "2024-03-02", "2024-03-05", ReservationStatus.CONFIRMED)));
+                committed = history.counts();
+                history.append(List.of(stay(2, "2024-03-10", "2024-03-12", ReservationStatus.CONFIRMED)));
+            }
+            try (ReservationHistory history = new ReservationHistory(dir)) {
+                history.open(committed);
+                checkEquals(1, history.size(), "records after reopening at the committed count");
+                checkEquals(-1, history.indexOf(2), "uncommitted record");
+                history.append(List.of(stay(3, "2024-03-20", "2024-03-22", ReservationStatus.CONFIRMED)));
+                checkEquals(1, history.indexOf(3), "next append overwrites the uncommitted record");
+            }
+        });
+
+        test("overlap queries find stays filed under a later check-out month", () -> {
+            try (ReservationHistory history = openEmpty(tempDir())) {
+                history.append(List.of(
+                        stay(1, "2024-01-30", "2024-02-02", ReservationStatus.CONFIRMED),
+                        stay(2, "2023-12-30", "2024-01-02", ReservationStatus.CONFIRMED),
+                        stay(3, "2024-03-30", "2024-04-02", ReservationStatus.CANCELLED)));
+                check(overlaps(history, "2024-01-31", "2024-01-31"), "January day of a stay filed in February");
+                check(overlaps(history, "2024-01-20", "2024-01-30"), "range ending on the check-in day");
+                check(!overlaps(history, "2024-01-20", "2024-01-29"), "range ending the day before");
+                check(overlaps(history, "2024-02-02", "2024-02-10"), "range starting on the check-out day");
+                check(!overlaps(history, "2024-02-03", "2024-02-10"), "range starting the day after");
+                check(overlaps(history, "2023-12-31", "2023-12-31"), "stay across the year boundary");
+                check(overlaps(history, "2023-11-01", "2024-06-30"), "range spanning several segments");
+                check(!overlaps(history, "2024-03-31", "2024-04-01"), "cancelled stay doesn't hold the room");
+                check(!history.overlaps(8, LocalDate.parse("2024-01-31").toEpochDay(),
+                        LocalDate.parse("2024-01-31").toEpochDay()), "other room");
+            }
+        });
+
+        test("segments stay in month order however stays are appended", () -> {
+            try (ReservationHistory history = openEmpty(tempDir())) {
+                history.append(List.of(stay(1, "2024-05-01", "2024-05-03", ReservationStatus.CONFIRMED)));
+                history.append(List.of(
+                        stay(2, "2024-03-01", "2024-03-03", ReservationStatus.CONFIRMED),
+                        stay(3, "2024-05-10", "2024-05-12", ReservationStatus.CONFIRMED),
+                        stay(4, "2024-02-27", "2024-03-01", ReservationStatus.CONFIRMED)));
+                checkEquals(List.of(YearMonth.of(2024, 3), YearMonth.of(2024, 5)), history.months(), "months");
+                checkEquals(List.of(0, 2), List.of(history.range(YearMonth.of(2024, 3))[0],
+                        history.range(YearMonth.of(2024, 3))[1]), "March records");
+                checkEquals(List.of(2, 4), List.of(history.range(YearMonth.of(2024, 5))[0],
+                        history.range(YearMonth.of(2024, 5))[1]), "May records");
+                checkEquals(4, history.size(), "records");
+                for (int id = 1; id <= 4; id++) {
+                    checkEquals(id, history.reservationId(history.indexOf(id)), "lookup of RES" + id);
+                }
+            }
+        });
+
+        test("past bookings are checked against archived stays across a month boundary", () -> {
+            File dir = tempDir();
+            LocalDate monthEnd = LocalDate.now().minusMonths(3).withDayOfMonth(1).minusDays(2);
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                Customer customer = model.addCustomer("Asha", "asha@example.com", "98450", "Pune");
+                check(model.bookReservation(customer.getCustomerId(), "ROOM1", monthEnd, monthEnd.plusDays(4)) != null,
+                        "stay across the month end");
+                model.saveAll();
+                checkEquals(1, model.getArchivedMonths().size(), "archived months");
+                check(model.bookReservation(customer.getCustomerId(), "ROOM1", monthEnd.minusDays(3), monthEnd) == null,
+                        "booking that reaches the archived stay's first day");
+            } finally {
+                model.close();
+            }
+            HotelReservationModel reopened = new HotelReservationModel(dir);
+            try {
+                check(reopened.getAvailableRoomsForDates(monthEnd.plusDays(1), monthEnd.plusDays(1)).stream()
+                        .noneMatch(room -> room.getRoomId().equals("ROOM1")), "room taken on the archived stay's dates");
+                check(reopened.bookReservation("CUST1", "ROOM1", monthEnd.minusDays(3), monthEnd.minusDays(1)) != null,
+                        "booking that ends the day before");
+            } finally {
+                reopened.close();
+            }
+        });
+
+        test("the model archives finished stays and serves them after a restart", () -> {
+            File dir = tempDir();
+            LocalDate start = LocalDate.now().minusMonths(4).withDayOfMonth(1);
+            Map<String, Object> stats;
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                Customer customer = model.addCustomer("Asha", "asha@example.com", "98450", "Pune");
+                for (int i = 0; i < 40; i++) {
+                    LocalDate in = start.plusDays(3L * i);
+                    Reservation booked = model.bookReservation(customer.getCustomerId(), "ROOM" + (1 + i % 6),
+                            in, in.plusDays(2));
+                    check(booked != null, "booking " + i);
+                    if (i % 5 == 0) model.cancelReservation(booked.getReservationId());
+                }
+                model.saveAll();
+                stats = model.getBookingStats();
+            } finally {
+                model.close();
+            }
+            check(new File(dir, HotelReservationModel.HISTORY_DIR).list().length >= 3, "one segment per month");
+
+            HotelReservationModel reopened = new HotelReservationModel(dir);
+            try {
+                checkEquals(40, reopened.getReservationCount(), "reservations");
+                checkEquals(40, reopened.countReservationsByCustomer("CUST1"), "customer's reservations");
+                check(reopened.getArchivedMonths().size() >= 3, "archived months " + reopened.getArchivedMonths());
+                Reservation first = reopened.findReservationById("RES1");
+                checkEquals(start, first.getCheckInDate(), "archived check-in");
+                checkEquals(ReservationStatus.CANCELLED, first.getStatus(), "archived status");
+                checkEquals(stats, reopened.getBookingStats(), "statistics");
+                check(reopened.verifyBookingStats(), "statistics match a full recount");
+            } finally {
+                reopened.close();
+            }
+        });
+
+        test("journal records for stays archived just before a crash are not replayed", () -> {
+            File dir = tempDir();
+            File journal = new File(dir, HotelReservationModel.JOURNAL_FILE);
+            byte[] unsaved;
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                Customer customer = model.addCustomer("Asha", "asha@example.com", "98450", "Pune");
+                LocalDate in = LocalDate.now().plusDays(10);
+                Reservation stay = model.bookReservation(customer.getCustomerId(), "ROOM1", in, in.plusDays(2));
+                model.cancelReservation(stay.getReservationId());
+                model.bookReservation(customer.getCustomerId(), "ROOM2", in, in.plusDays(2));
+                unsaved = Files.readAllBytes(journal.toPath());
+                model.saveAll();
+                checkEquals(1, model.getArchivedMonths().size(), "archived months");
+            } finally {
+                model.close();
+            }
+            // As if the process died after the snapshot was written but before the journal was reset.
+            Files.write(journal.toPath(), unsaved);
+
+            HotelReservationModel reopened = new HotelReservationModel(dir);
+            try {
+                checkEquals(2, reopened.getReservationCount(), "reservations");
+                checkEquals(1L, reopened.getAllReservations().stream()
+                        .filter(r -> r.getReservationId().equals("RES1")).count(), "copies of RES1");
+                checkEquals(1L, ((Number) reopened.getBookingStats().get("cancelledCount")).longValue(), "cancelled count");
+                checkEquals(ReservationStatus.CONFIRMED, reopened.findReservationById("RES2").getStatus(), "RES2");
+                check(reopened.verifyBookingStats(), "statistics match a full recount");
+            } finally {
+                reopened.close();
+            }
+        });
+    }
+
+    private static boolean overlaps(ReservationHistory history, String first, String last) {
+        return history.overlaps(7, LocalDate.parse(first).toEpochDay(), LocalDate.parse(last).toEpochDay());
+    }
+
+    static ReservationHistory openEmpty(File dir) throws Exception {
+        ReservationHistory history = new ReservationHistory(dir);
+        history.open(new TreeMap<>());
+        return history;
+    }
+
+    static Reservation stay(int id, String checkIn, String checkOut, ReservationStatus status) {
+        LocalDate in = LocalDate.parse(checkIn);
+        LocalDate out = LocalDate.parse(checkOut);
+        return new Reservation(Reservation.ID_PREFIX + id, CUSTOMER, ROOM, in, out,
+                ROOM.getPricePerNight() * (out.toEpochDay() - in.toEpochDay()), status);
+    }
+}
@@ -0,0 +1,253 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.dynamix.hotelreservation.TestSupport.*;
+
+/** The write-ahead journal on its own, and the model recovering from it after a kill. */
+final class ReservationJournalTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 10);
+
+    private ReservationJournalTest() {
+    }
+
+    static void run() {
+        test("records replay in the order they were appended", () -> {
+            File file = new File(tempDir(), "journal.dat");
+            try (ReservationJournal journal = new ReservationJournal(file)) {
+                appendSample(journal);
+            }
+            checkEquals(List.of("addRoom ROOM1", "addCustomer CUST1", "book RES1 ROOM1 " + DAY,
+                    "status RES1 Checked In", "cancel RES2"), replay(file), "replayed records");
+        });
+
+        test("a torn tail is dropped and the next append follows the last valid record", () -> {
+            File file = new File(tempDir(), "journal.dat");
+            try (ReservationJournal journal = new ReservationJournal(file)) {
+                appendSample(journal);
+            }
+            long valid = file.length();
+            try (FileOutputStream out = new FileOutputStream(file, true)) {
+                // A frame header promising more bytes than were written.
+                out.write(new byte[]{0, 0, 0, 100, ReservationJournal.CANCEL, 1, 2});
+            }
+            checkEquals(5, replay(file).size(), "records before the torn frame");
+            checkEquals(valid, file.length(), "length after dropping the tail");
+            try (ReservationJournal journal = new ReservationJournal(file)) {
+                journal.appendCancel("RES9");
+            }
+            checkEquals("cancel RES9", replay(file).get(5), "record appended after recovery");
+        });
+
+        test("a batch replays whole or not at all", () -> {
+            File file = new File(tempDir(), "journal.dat");
+            try (ReservationJournal journal = new ReservationJournal(file)) {
+                journal.appendCancel("RES1");
+                journal.beginBatch();
+                journal.appendCancel("RES2");
+                journal.appendCancel("RES3");
+                journal.commitBatch();
+            }
+            checkEquals(List.of("cancel RES1", "cancel RES2", "cancel RES3"), replay(file), "committed batch");
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(raf.length() - 2);
+            }
+            checkEquals(List.of("cancel RES1"), replay(file), "torn batch");
+        });
+
+        test("bookings, cancellations and check-ins survive a kill", () -> {
+            File dir = tempDir();
+            checkEquals(0, runInChildJvm(Crash.class, dir.getPath(), "journal-only"), "child exit code");
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                checkRecovered(model);
+                Reservation next = model.bookReservation("CUST1", "ROOM4", DAY, DAY.plusDays(1));
+                check(next != null, "new booking accepted");
+                check(RecordCodec.numericId(next.getReservationId()) > 3, "ID " + next.getReservationId() + " not reused");
+            } finally {
+                model.close();
+            }
+        });
+
+        test("saveAll truncates the journal and reopening applies the snapshot then the newer records", () -> {
+            File dir = tempDir();
+            checkEquals(0, runInChildJvm(Crash.class, dir.getPath(), "snapshot-then-journal"), "child exit code");
+            check(new File(dir, HotelReservationModel.RESERVATIONS_FILE).exists(), "snapshot written");
+            check(new File(dir, HotelReservationModel.JOURNAL_FILE).length() > 0, "records after the snapshot");
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                checkRecovered(model);
+                model.saveAll();
+                checkEquals(0L, new File(dir, HotelReservationModel.JOURNAL_FILE).length(), "journal after saveAll");
+            } finally {
+                model.close();
+            }
+            HotelReservationModel reopened = new HotelReservationModel(dir);
+            try {
+                checkRecovered(reopened);
+            } finally {
+                reopened.close();
+            }
+        });
+
+        test("a record the journal can't write fails instead of being dropped", () -> {
+            File file = new File(tempDir(), "journal.dat");
+            ReservationJournal journal = new ReservationJournal(file);
+            journal.appendCancel("RES1");
+            journal.close();
+            try {
+                journal.appendCancel("RES2");
+                throw new AssertionError("append to a closed journal succeeded");
+            } catch (UncheckedIOException expected) {
+                // The caller must refuse the change.
+            }
+            journal.beginBatch();
+            journal.appendCancel("RES3");
+            try {
+                journal.commitBatch();
+                throw new AssertionError("batch committed to a closed journal");
+            } catch (UncheckedIOException expected) {
+                // Nothing of the batch is kept.
+            }
+            checkEquals(List.of("cancel RES1"), replay(file), "records on disk");
+        });
+
+        test("the model refuses a change the journal can't record", () -> {
+            File dir = tempDir();
+            HotelReservationModel model = new HotelReservationModel(dir);
+            Customer customer = model.addCustomer("Asha", "asha@example.com", "98450", "Pune");
+            Reservation stay = model.bookReservation(customer.getCustomerId(), "ROOM1", DAY, DAY.plusDays(3));
+            model.close();
+            try {
+                model.bookReservation(customer.getCustomerId(), "ROOM2", DAY, DAY.plusDays(3));
+                throw new AssertionError("booking accepted without a journal record");
+            } catch (UncheckedIOException expected) {
+                checkEquals(1, model.getReservationCount(), "reservations after the refused booking");
+            }
+            try {
+                model.cancelReservation(stay.getReservationId());
+                throw new AssertionError("cancellation accepted without a journal record");
+            } catch (UncheckedIOException expected) {
+                checkEquals(ReservationStatus.CONFIRMED, stay.getStatus(), "status after the refused cancellation");
+            }
+            check(model.verifyBookingStats(), "statistics match the reservations");
+        });
+
+        test("a snapshot that can't be written leaves the journal in place", () -> {
+            File dir = tempDir();
+            File journal = new File(dir, HotelReservationModel.JOURNAL_FILE);
+            File blocker = new File(dir, HotelReservationModel.CUSTOMERS_FILE + ".tmp");
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                Customer customer = model.addCustomer("Asha", "asha@example.com", "98450", "Pune");
+                model.bookReservation(customer.getCustomerId(), "ROOM1", DAY, DAY.plusDays(3));
+                long length = journal.length();
+                // A directory where the temporary snapshot file should go makes the write fail.
+                check(blocker.mkdir(), "blocker created");
+                model.saveAll();
+                checkEquals(length, journal.length(), "journal after the failed snapshot");
+                check(blocker.delete(), "blocker removed");
+            } finally {
+                model.close();
+            }
+            HotelReservationModel reopened = new HotelReservationModel(dir);
+            try {
+                checkEquals(1, reopened.getReservationCount(), "reservations");
+                checkEquals(ReservationStatus.CONFIRMED, reopened.findReservationById("RES1").getStatus(), "RES1");
+            } finally {
+                reopened.close();
+            }
+        });
+
+        test("the model creates a data directory that doesn't exist yet", () -> {
+            File dir = new File(tempDir(), "data/hotel");
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                check(model.addCustomer("Asha", "asha@example.com", "98450", "Pune") != null, "customer added");
+            } finally {
+                model.close();
+            }
+            check(new File(dir, HotelReservationModel.JOURNAL_FILE).exists(), "journal created");
+        });
+    }
+
+    private static void checkRecovered(HotelReservationModel model) {
+        checkEquals(3, model.getReservationCount(), "reservations");
+        checkEquals(ReservationStatus.CANCELLED, model.findReservationById("RES1").getStatus(), "RES1");
+        checkEquals(ReservationStatus.CONFIRMED, model.findReservationById("RES2").getStatus(), "RES2");
+        checkEquals(ReservationStatus.CHECKED_IN, model.findReservationById("RES3").getStatus(), "RES3");
+        check(model.verifyBookingStats(), "statistics match the recovered reservations");
+        check(model.bookReservation("CUST1", "ROOM2", DAY, DAY.plusDays(2)) == null, "RES2 still holds ROOM2");
+    }
+
+    /** Child process: changes the model, then dies without saving or closing it. */
+    static final class Crash {
+        public static void main(String[] args) {
+            HotelReservationModel model = new HotelReservationModel(new File(args[0]));
+            LocalDate today = LocalDate.now();
+            Customer customer = model.addCustomer("Asha", "asha@example.com", "98450", "Pune");
+            model.bookReservation(customer.getCustomerId(), "ROOM1", DAY, DAY.plusDays(3));
+            if (args[1].equals("snapshot-then-journal")) model.saveAll();
+            model.bookReservation(customer.getCustomerId(), "ROOM2", DAY, DAY.plusDays(3));
+            model.bookReservation(customer.getCustomerId(), "ROOM3", today, today.plusDays(2));
+            model.cancelReservation("RES1");
+            model.checkIn("RES3");
+            Runtime.getRuntime().halt(0);
+        }
+    }
+
+    private static void appendSample(ReservationJournal journal) {
+        Room room = new Room("ROOM1", "Single", 1500, 1);
+        Customer customer = new Customer("CUST1", "Asha", "asha@example.com", "98450", "Pune");
+        journal.appendAddRoom(room);
+        journal.appendAddCustomer(customer);
+        journal.appendBooking(new Reservation("RES1", customer, room, DAY, DAY.plusDays(2)));
+        journal.appendStatusChange("RES1", ReservationStatus.CHECKED_IN);
+        journal.appendCancel("RES2");
+    }
+
+    private static List<String> replay(File file) throws Exception {
+        List<String> records = new ArrayList<>();
+        try (ReservationJournal journal = new ReservationJournal(file)) {
+            journal.replay(new ReservationJournal.Handler() {
+                @Override
+                public void addRoom(Room room) {
+                    records.add("addRoom " + room.getRoomId());
+                }
+
+                @Override
+                public void removeRoom(String roomId) {
+                    records.add("removeRoom " + roomId);
+                }
+
+                @Override
+                public void addCustomer(Customer customer) {
+                    records.add("addCustomer " + customer.getCustomerId());
+                }
+
+                @Override
+                public void book(String reservationId, String customerId, String roomId,
+                                 LocalDate checkIn, LocalDate checkOut, double totalCost) {
+                    records.add("book " + reservationId + " " + roomId + " " + checkIn);
+                }
+
+                @Override
+                public void cancel(String reservationId) {
+                    records.add("cancel " + reservationId);
+                }
+
+                @Override
+                public void changeStatus(String reservationId, ReservationStatus status) {
+                    records.add("status " + reservationId + " " + status);
+                }
+            });
+        }
+        return records;
+    }
+}
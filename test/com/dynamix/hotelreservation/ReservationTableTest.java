@@ -0,0 +1,139 @@
+package com.dynamix.hotelreservation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+import static com.dynamix.hotelreservation.TestSupport.*;
+
+/** The columnar live table and the views it hands out. */
+final class ReservationTableTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 1);
+    private static final IntHashMap<Customer> CUSTOMERS = new IntHashMap<>();
+    private static final IntHashMap<Room> ROOMS = new IntHashMap<>();
+
+    static {
+        for (int i = 1; i <= 3; i++) {
+            CUSTOMERS.put(i, new Customer(Customer.ID_PREFIX + i, "Guest " + i, "guest" + i + "@example.com", "98450", "Pune"));
+            ROOMS.put(i, new Room(Room.ID_PREFIX + i, i == 3 ? "Suite" : "Double", 1000.0 * i, i));
+        }
+    }
+
+    private ReservationTableTest() {
+    }
+
+    static void run() {
+        test("views read every column of their row", () -> {
+            ReservationTable table = newTable(0);
+            Reservation view = table.add(stay(42, 2, 3, 5));
+            checkEquals("RES42", view.getReservationId(), "ID");
+            check(view.getCustomer() == CUSTOMERS.get(2), "customer resolved through the table");
+            check(view.getRoom() == ROOMS.get(3), "room resolved through the table");
+            checkEquals(DAY.plusDays(5), view.getCheckInDate(), "check-in");
+            checkEquals(DAY.plusDays(7), view.getCheckOutDate(), "check-out");
+            checkEquals(6000.0, view.getTotalCost(), "cost");
+            checkEquals(ReservationStatus.CONFIRMED, view.getStatus(), "status");
+        });
+
+        test("a status change shows through every view of the row", () -> {
+            ReservationTable table = newTable(0);
+            Reservation first = table.add(stay(1, 1, 1, 0));
+            Reservation second = table.view(0);
+            first.setStatus(ReservationStatus.CHECKED_IN);
+            checkEquals(ReservationStatus.CHECKED_IN, second.getStatus(), "other view");
+            checkEquals(ReservationStatus.CHECKED_IN.code(), table.statusCode(0), "column");
+            try {
+                second.setStatus(ReservationStatus.CONFIRMED);
+                throw new AssertionError("moved back to Confirmed");
+            } catch (IllegalStateException expected) {
+                checkEquals(ReservationStatus.CHECKED_IN, first.getStatus(), "status after a refused move");
+            }
+        });
+
+        test("rows survive the columns growing", () -> {
+            ReservationTable table = newTable(0);
+            List<Reservation> views = new ArrayList<>();
+            for (int i = 1; i <= 1000; i++) {
+                views.add(table.add(stay(i, 1 + i % 3, 1 + i % 3, i)));
+            }
+            checkEquals(1000, table.size(), "rows");
+            for (int i = 1; i <= 1000; i++) {
+                Reservation view = views.get(i - 1);
+                checkEquals("RES" + i, view.getReservationId(), "ID of row " + (i - 1));
+                checkEquals(DAY.plusDays(i), view.getCheckInDate(), "check-in of row " + (i - 1));
+            }
+        });
+
+        test("filter keeps matching rows in order and leaves the old table's views alone", () -> {
+            ReservationTable table = newTable(0);
+            for (int i = 1; i <= 10; i++) {
+                table.add(stay(i, 1, 1 + i % 3, 3 * i));
+            }
+            Reservation old = table.view(1);
+            ReservationTable even = table.filter(row -> table.reservationId(row) % 2 == 0);
+            checkEquals(5, even.size(), "rows kept");
+            for (int row = 0; row < even.size(); row++) {
+                checkEquals(2 * (row + 1), even.reservationId(row), "ID of kept row " + row);
+                checkEquals(table.costPaise(2 * row + 1), even.costPaise(row), "cost of kept row " + row);
+            }
+            even.view(0).setStatus(ReservationStatus.CANCELLED);
+            checkEquals(ReservationStatus.CONFIRMED, old.getStatus(), "view of the old table");
+        });
+
+        test("the snapshot written from columns matches the one written from objects", () -> {
+            ReservationTable table = newTable(0);
+            List<Reservation> copies = new ArrayList<>();
+            for (int i = 1; i <= 20; i++) {
+                Reservation view = table.add(stay(i, 1 + i % 3, 1 + i % 3, 4 * i));
+                if (i % 4 == 0) view.setStatus(ReservationStatus.CANCELLED);
+            }
+            for (int row = 0; row < table.size(); row++) {
+                Reservation view = table.view(row);
+                copies.add(new Reservation(view.getReservationId(), view.getCustomer(), view.getRoom(),
+                        view.getCheckInDate(), view.getCheckOutDate(), view.getTotalCost(), view.getStatus()));
+            }
+            TreeMap<Integer, Integer> counts = new TreeMap<>();
+            counts.put(ReservationHistory.monthOf(DAY.toEpochDay()), 7);
+            ByteArrayOutputStream fromColumns = new ByteArrayOutputStream();
+            ByteArrayOutputStream fromObjects = new ByteArrayOutputStream();
+            RecordCodec.writeReservations(new DataOutputStream(fromColumns), table, counts);
+            RecordCodec.writeReservations(new DataOutputStream(fromObjects), copies, counts);
+            check(Arrays.equals(fromObjects.toByteArray(), fromColumns.toByteArray()), "snapshots differ");
+        });
+
+        test("a view serializes as a standalone reservation", () -> {
+            ReservationTable table = newTable(0);
+            Reservation view = table.add(stay(7, 1, 2, 0));
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(view);
+            }
+            Reservation copy;
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                copy = (Reservation) in.readObject();
+            }
+            checkEquals("RES7", copy.getReservationId(), "ID");
+            checkEquals(view.getCheckInDate(), copy.getCheckInDate(), "check-in");
+            checkEquals(view.getTotalCost(), copy.getTotalCost(), "cost");
+            checkEquals(ReservationStatus.CONFIRMED, copy.getStatus(), "status");
+            checkEquals("ROOM2", copy.getRoom().getRoomId(), "room");
+        });
+    }
+
+    private static ReservationTable newTable(int capacity) {
+        return new ReservationTable(CUSTOMERS::get, ROOMS::get, capacity);
+    }
+
+    /** Two nights from {@code DAY + offset}, priced at the room's rate. */
+    private static Reservation stay(int id, int customerId, int roomId, int offset) {
+        return new Reservation(Reservation.ID_PREFIX + id, CUSTOMERS.get(customerId), ROOMS.get(roomId),
+                DAY.plusDays(offset), DAY.plusDays(offset + 2));
+    }
+}
@@ -0,0 +1,172 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.dynamix.hotelreservation.TestSupport.*;
+
+/** Difference-array revenue reports, on their own and over the model's live and archived stays. */
+final class RevenueAnalyticsTest {
+    private static final List<String> TYPES = List.of("Single", "Suite");
+    private static final Map<String, Integer> ROOM_COUNTS = Map.of("Single", 2, "Suite", 1);
+
+    private RevenueAnalyticsTest() {
+    }
+
+    /** A stay of {@code type} over the nights {@code [checkIn, checkOut)}. */
+    private record Stay(int type, String checkIn, String checkOut, long paise) {
+    }
+
+    static void run() {
+        test("stays crossing either end of the range count only their nights inside it", () -> {
+            RevenueReport report = report("2024-03-01", "2024-03-31", RevenueReport.Granularity.DAY,
+                    new Stay(0, "2024-02-27", "2024-03-03", 1001),
+                    new Stay(1, "2024-03-30", "2024-04-02", 1000),
+                    new Stay(0, "2024-03-10", "2024-03-13", 1000),
+                    new Stay(0, "2024-02-01", "2024-03-01", 9999),
+                    new Stay(1, "2024-04-01", "2024-04-05", 9999));
+            checkEquals(31, report.periods().size(), "days");
+            checkEquals(new RevenueReport.Metrics(62, 5, 14.00), report.totalByRoomType().get("Single"), "Single");
+            checkEquals(new RevenueReport.Metrics(31, 2, 6.67), report.totalByRoomType().get("Suite"), "Suite");
+            checkEquals(new RevenueReport.Metrics(93, 7, 20.67), report.total(), "total");
+            // 1001 paise over five nights: the leftover paise belongs to 27 February, outside the range.
+            checkEquals(2.00, day(report, "2024-03-01").byRoomType().get("Single").revenue(), "1 March");
+            checkEquals(0L, day(report, "2024-03-03").total().soldRoomNights(), "check-out day");
+        });
+
+        test("paise that don't divide by the nights go to the first night", () -> {
+            RevenueReport report = report("2024-03-01", "2024-03-31", RevenueReport.Granularity.DAY,
+                    new Stay(0, "2024-03-10", "2024-03-13", 1000),
+                    new Stay(1, "2024-03-30", "2024-04-02", 1000),
+                    new Stay(1, "2024-03-20", "2024-03-21", 7));
+            checkEquals(3.34, day(report, "2024-03-10").total().revenue(), "first night");
+            checkEquals(3.33, day(report, "2024-03-11").total().revenue(), "second night");
+            checkEquals(3.33, day(report, "2024-03-12").total().revenue(), "last night");
+            checkEquals(0.07, day(report, "2024-03-20").total().revenue(), "single night");
+            checkEquals(3.34, day(report, "2024-03-30").total().revenue(), "first night of a stay cut at the end");
+            checkEquals(3.33, day(report, "2024-03-31").total().revenue(), "last day of the range");
+        });
+
+        test("weeks are cut to the range at both ends", () -> {
+            // 1 March 2024 is a Friday and 13 March a Wednesday.
+            RevenueReport report = report("2024-03-01", "2024-03-13", RevenueReport.Granularity.WEEK,
+                    new Stay(0, "2024-03-02", "2024-03-06", 400),
+                    new Stay(1, "2024-03-10", "2024-03-20", 1000));
+            checkPeriods(report, "2024-03-01", "2024-03-03", "2024-03-04", "2024-03-10", "2024-03-11", "2024-03-13");
+            checkEquals(new RevenueReport.Metrics(9, 2, 2.00), report.periods().get(0).total(), "first week");
+            checkEquals(new RevenueReport.Metrics(21, 3, 3.00), report.periods().get(1).total(), "second week");
+            checkEquals(new RevenueReport.Metrics(9, 3, 3.00), report.periods().get(2).total(), "third week");
+            checkEquals(new RevenueReport.Metrics(39, 8, 8.00), report.total(), "total");
+        });
+
+        test("months are cut to the range at both ends", () -> {
+            RevenueReport report = report("2024-01-15", "2024-03-10", RevenueReport.Granularity.MONTH,
+                    new Stay(1, "2024-01-30", "2024-02-02", 301),
+                    new Stay(0, "2024-02-28", "2024-03-02", 600));
+            checkPeriods(report, "2024-01-15", "2024-01-31", "2024-02-01", "2024-02-29", "2024-03-01", "2024-03-10");
+            checkEquals(2L, report.periods().get(0).total().soldRoomNights(), "January nights");
+            checkEquals(2.01, report.periods().get(0).total().revenue(), "January revenue");
+            checkEquals(3L, report.periods().get(1).total().soldRoomNights(), "February nights");
+            checkEquals(5.00, report.periods().get(1).total().revenue(), "February revenue");
+            checkEquals(1L, report.periods().get(2).total().soldRoomNights(), "March nights");
+            checkEquals(2.00, report.periods().get(2).total().revenue(), "March revenue");
+            checkEquals(29L * 3, report.periods().get(1).total().availableRoomNights(), "February room-nights");
+        });
+
+        test("every night matches a night-by-night recount of random stays", () -> {
+            LocalDate from = LocalDate.parse("2024-01-01");
+            int days = 120;
+            Random random = new Random(42);
+            Stay[] stays = new Stay[500];
+            long[][] sold = new long[TYPES.size()][days];
+            long[][] paise = new long[TYPES.size()][days];
+            for (int i = 0; i < stays.length; i++) {
+                LocalDate in = from.plusDays(random.nextInt(days + 40) - 20);
+                int nights = 1 + random.nextInt(15);
+                Stay stay = new Stay(random.nextInt(TYPES.size()), in.toString(), in.plusDays(nights).toString(),
+                        1 + random.nextInt(100_000));
+                stays[i] = stay;
+                for (int n = 0; n < nights; n++) {
+                    int d = (int) (in.toEpochDay() + n - from.toEpochDay());
+                    if (d < 0 || d >= days) continue;
+                    sold[stay.type()][d]++;
+                    paise[stay.type()][d] += stay.paise() / nights + (n == 0 ? stay.paise() % nights : 0);
+                }
+            }
+            RevenueReport report = report(from.toString(), from.plusDays(days - 1).toString(),
+                    RevenueReport.Granularity.DAY, stays);
+            for (int d = 0; d < days; d++) {
+                RevenueReport.Period period = report.periods().get(d);
+                for (int t = 0; t < TYPES.size(); t++) {
+                    RevenueReport.Metrics metrics = period.byRoomType().get(TYPES.get(t));
+                    checkEquals(sold[t][d], metrics.soldRoomNights(), TYPES.get(t) + " nights on " + period.start());
+                    checkEquals(paise[t][d] / 100.0, metrics.revenue(), TYPES.get(t) + " revenue on " + period.start());
+                }
+            }
+        });
+
+        test("the model reports archived and live stays, and the same after a restart", () -> {
+            File dir = tempDir();
+            LocalDate today = LocalDate.now();
+            LocalDate from = today.minusDays(60);
+            LocalDate to = today.plusDays(30);
+            RevenueReport before;
+            HotelReservationModel model = new HotelReservationModel(dir);
+            try {
+                String customerId = model.addCustomer("Asha", "asha@example.com", "98450", "Pune").getCustomerId();
+                // ROOM1 is a Single at 1500 a night, ROOM3 a Suite at 4000.
+                check(model.bookReservation(customerId, "ROOM1", today.minusDays(40), today.minusDays(37)) != null,
+                        "past stay");
+                Reservation cancelled = model.bookReservation(customerId, "ROOM3", today.minusDays(30),
+                        today.minusDays(20));
+                model.cancelReservation(cancelled.getReservationId());
+                check(model.bookReservation(customerId, "ROOM3", today.plusDays(5), today.plusDays(7)) != null,
+                        "future stay");
+                model.saveAll();
+                check(!model.getArchivedMonths().isEmpty(), "past stays archived");
+                before = model.getRevenueReport(from, to, RevenueReport.Granularity.MONTH);
+            } finally {
+                model.close();
+            }
+            checkEquals(new RevenueReport.Metrics(2L * 91, 3, 4500), before.totalByRoomType().get("Single"), "Single");
+            checkEquals(new RevenueReport.Metrics(91, 2, 8000), before.totalByRoomType().get("Suite"), "Suite");
+
+            HotelReservationModel reopened = new HotelReservationModel(dir);
+            try {
+                checkEquals(before, reopened.getRevenueReport(from, to, RevenueReport.Granularity.MONTH),
+                        "report after reopening");
+                RevenueReport later = reopened.getRevenueReport(today, to, RevenueReport.Granularity.MONTH);
+                checkEquals(0L, later.totalByRoomType().get("Single").soldRoomNights(), "Single nights from today");
+                checkEquals(2L, later.totalByRoomType().get("Suite").soldRoomNights(), "Suite nights from today");
+            } finally {
+                reopened.close();
+            }
+        });
+    }
+
+    private static RevenueReport report(String from, String to, RevenueReport.Granularity granularity,
+                                        Stay... stays) {
+        RevenueAnalytics analytics = new RevenueAnalytics(LocalDate.parse(from), LocalDate.parse(to), TYPES);
+        RevenueAnalytics.Nights nights = analytics.scan(stays.length, (target, i) -> target.add(
+                analytics.typeIndex(TYPES.get(stays[i].type())), LocalDate.parse(stays[i].checkIn()).toEpochDay(),
+                LocalDate.parse(stays[i].checkOut()).toEpochDay(), stays[i].paise()));
+        return analytics.report(nights, ROOM_COUNTS, granularity);
+    }
+
+    private static RevenueReport.Period day(RevenueReport report, String date) {
+        return report.periods().get((int) (LocalDate.parse(date).toEpochDay() - report.from().toEpochDay()));
+    }
+
+    /** {@code bounds} are each period's first and last day, in order. */
+    private static void checkPeriods(RevenueReport report, String... bounds) {
+        checkEquals(bounds.length / 2, report.periods().size(), "periods");
+        for (int i = 0; i < bounds.length / 2; i++) {
+            RevenueReport.Period period = report.periods().get(i);
+            checkEquals(LocalDate.parse(bounds[2 * i]), period.start(), "start of period " + i);
+            checkEquals(LocalDate.parse(bounds[2 * i + 1]), period.end(), "end of period " + i);
+        }
+    }
+}
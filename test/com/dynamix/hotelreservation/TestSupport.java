@@ -0,0 +1,95 @@
+package com.dynamix.hotelreservation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A small test harness, since the project builds with plain javac: suites run their
+ * cases through {@link #test}, which reports each one and keeps going on failure, and
+ * {@link AllTests} exits non-zero if any case failed.
+ */
+final class TestSupport {
+    private static final List<File> tempDirs = new ArrayList<>();
+    private static int passed;
+    private static int failed;
+
+    @FunctionalInterface
+    interface Case {
+        void run() throws Exception;
+    }
+
+    private TestSupport() {
+    }
+
+    static void test(String name, Case body) {
+        try {
+            body.run();
+            passed++;
+            System.out.println("  ok    " + name);
+        } catch (Throwable e) {
+            failed++;
+            System.out.println("  FAIL  " + name + ": " + e);
+            e.printStackTrace(System.out);
+        } finally {
+            tempDirs.forEach(TestSupport::deleteTree);
+            tempDirs.clear();
+        }
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+
+    static void checkEquals(Object expected, Object actual, String what) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    /** A fresh data directory, deleted when the current case finishes. */
+    static File tempDir() throws IOException {
+        File dir = Files.createTempDirectory("hotel-test-").toFile();
+        tempDirs.add(dir);
+        return dir;
+    }
+
+    /**
+     * Runs {@code mainClass} in a new JVM on this classpath and returns its exit code,
+     * for cases that need a process to die without closing the model.
+     */
+    static int runInChildJvm(Class<?> mainClass, String... args) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(mainClass.getName());
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (!process.waitFor(60, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new AssertionError(mainClass.getSimpleName() + " did not finish");
+        }
+        return process.exitValue();
+    }
+
+    static int passed() {
+        return passed;
+    }
+
+    static int failed() {
+        return failed;
+    }
+
+    private static void deleteTree(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) deleteTree(child);
+        }
+        file.delete();
+    }
+}